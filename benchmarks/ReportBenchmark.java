@@ -0,0 +1,85 @@
+package assignmentone;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks of report generation, as a String and straight to a channel,
+ * for a Reporter holding a hundred thousand rounds of every built-in game type.
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportBenchmark {
+
+    private static final int ROUNDS = 100_000;
+
+    @Param({"rps", "rpskl", "rpsfw", "rpmfw"})
+    public String gameType;
+
+    private Reporter reporter;
+    private WritableByteChannel discard;
+
+    /**
+     * Plays random rounds into the Reporter, and creates a channel that discards what is written to it.
+     */
+    @Setup
+    public void setUp() {
+        GameDefinition game = GameRegistry.getDefault().get(gameType);
+        RandomGenerator random = Thinker.newRandom(42);
+        reporter = new Reporter(game.getValidMoves());
+        for (int i = 0; i < ROUNDS; i++) {
+            int computerIndex = random.nextInt(game.size());
+            int playerIndex = random.nextInt(game.size());
+            reporter.record(computerIndex, playerIndex, game.getRules().getOutcome(computerIndex, playerIndex));
+        }
+        discard = new WritableByteChannel() {
+            @Override
+            public int write(ByteBuffer source) {
+                int written = source.remaining();
+                source.position(source.limit());
+                return written;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    @Benchmark
+    public String generateReport() {
+        return reporter.generateReport();
+    }
+
+    @Benchmark
+    public void writeReport() throws IOException {
+        reporter.writeReport(discard);
+    }
+}
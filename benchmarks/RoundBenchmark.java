@@ -0,0 +1,156 @@
+package assignmentone;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks of the round pipeline for every built-in game type: looking up outcomes, choosing the
+ * computer's move, refereeing a round and counting it. Run with {@code -prof gc} to see the bytes
+ * allocated per round next to the time.
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoundBenchmark {
+
+    private static final int MOVE_TABLE_SIZE = 1024;
+
+    @Param({"rps", "rpskl", "rpsfw", "rpmfw"})
+    public String gameType;
+
+    private int[][] rulesMatrix;
+    private int[] computerIndices;
+    private int[] playerIndices;
+    private String[] computerMoves;
+    private String[] playerMoves;
+    private GameKeeper gameKeeper;
+    private Thinker uniformThinker;
+    private Thinker weightedThinker;
+    private Referee referee;
+    private Reporter reporter;
+    private Scoreboard scoreboard;
+    private int next;
+
+    /**
+     * Builds the game and a table of random rounds to cycle through.
+     */
+    @Setup
+    public void setUp() {
+        GameDefinition game = GameRegistry.getDefault().get(gameType);
+        List<String> validMoves = game.getValidMoves();
+        Map<String, Integer> weights = game.getWeights();
+        int size = validMoves.size();
+        rulesMatrix = game.getRulesMatrix();
+
+        RandomGenerator random = Thinker.newRandom(42);
+        computerIndices = new int[MOVE_TABLE_SIZE];
+        playerIndices = new int[MOVE_TABLE_SIZE];
+        computerMoves = new String[MOVE_TABLE_SIZE];
+        playerMoves = new String[MOVE_TABLE_SIZE];
+        for (int i = 0; i < MOVE_TABLE_SIZE; i++) {
+            computerIndices[i] = random.nextInt(size);
+            playerIndices[i] = random.nextInt(size);
+            computerMoves[i] = validMoves.get(computerIndices[i]);
+            playerMoves[i] = validMoves.get(playerIndices[i]);
+        }
+
+        gameKeeper = new GameKeeper(game);
+        uniformThinker = new Thinker(validMoves, new RandomStrategy(size, null), Thinker.newRandom(1));
+        weightedThinker = weights != null ? new Thinker(validMoves, weights, Thinker.newRandom(2)) : uniformThinker;
+        referee = new Referee();
+        reporter = new Reporter(validMoves);
+        scoreboard = new Scoreboard(validMoves);
+    }
+
+    @Benchmark
+    public int gameKeeperGetOutcomeByMove() {
+        int k = nextRound();
+        return gameKeeper.getOutcome(computerMoves[k], playerMoves[k]);
+    }
+
+    @Benchmark
+    public int gameKeeperGetOutcomeByIndex() {
+        int k = nextRound();
+        return gameKeeper.getOutcome(computerIndices[k], playerIndices[k]);
+    }
+
+    @Benchmark
+    public String thinkerGetComputerMove() {
+        return uniformThinker.getComputerMove();
+    }
+
+    @Benchmark
+    public int thinkerGetComputerMoveIndex() {
+        return uniformThinker.getComputerMoveIndex();
+    }
+
+    @Benchmark
+    public String thinkerGetComputerMoveWeighted() {
+        return weightedThinker.getComputerMove();
+    }
+
+    @Benchmark
+    public int thinkerGetComputerMoveIndexWeighted() {
+        return weightedThinker.getComputerMoveIndex();
+    }
+
+    @Benchmark
+    public int refereeDetermineWinnerByMove() {
+        int k = nextRound();
+        return referee.determineWinner(playerMoves[k], computerMoves[k], gameKeeper, reporter);
+    }
+
+    @Benchmark
+    public int refereeDetermineWinnerByIndex() {
+        int k = nextRound();
+        return referee.determineWinner(playerIndices[k], computerIndices[k], gameKeeper, reporter);
+    }
+
+    @Benchmark
+    public void reporterUpdateResultsMatrix() {
+        int k = nextRound();
+        reporter.updateResultsMatrix(computerMoves[k], playerMoves[k], rulesMatrix[computerIndices[k]][playerIndices[k]]);
+    }
+
+    @Benchmark
+    public void reporterRecord() {
+        int k = nextRound();
+        reporter.record(computerIndices[k], playerIndices[k], rulesMatrix[computerIndices[k]][playerIndices[k]]);
+    }
+
+    @Benchmark
+    public void scoreboardRecord() {
+        int k = nextRound();
+        scoreboard.record(computerIndices[k], playerIndices[k], rulesMatrix[computerIndices[k]][playerIndices[k]]);
+    }
+
+    /**
+     * Helper method: Moves on to the next round of the table.
+     *
+     * @return The index of the round in the table.
+     */
+    private int nextRound() {
+        next = (next + 1) & (MOVE_TABLE_SIZE - 1);
+        return next;
+    }
+}
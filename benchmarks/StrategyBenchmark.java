@@ -0,0 +1,68 @@
+package assignmentone;
+
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks of the adaptive strategies: observing a round and choosing the next move,
+ * for every built-in game type.
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StrategyBenchmark {
+
+    private static final int MOVE_TABLE_SIZE = 1024;
+
+    @Param({"rps", "rpskl", "rpsfw", "rpmfw"})
+    public String gameType;
+
+    @Param({"frequency", "markov2", "ngram3"})
+    public String strategyName;
+
+    private int[] computerIndices;
+    private int[] playerIndices;
+    private Thinker thinker;
+    private int next;
+
+    /**
+     * Builds the Thinker and a table of random rounds for it to observe.
+     */
+    @Setup
+    public void setUp() {
+        GameDefinition game = GameRegistry.getDefault().get(gameType);
+        RandomGenerator random = Thinker.newRandom(42);
+        computerIndices = new int[MOVE_TABLE_SIZE];
+        playerIndices = new int[MOVE_TABLE_SIZE];
+        for (int i = 0; i < MOVE_TABLE_SIZE; i++) {
+            computerIndices[i] = random.nextInt(game.size());
+            playerIndices[i] = random.nextInt(game.size());
+        }
+        thinker = Simulator.newThinker(game, strategyName, Thinker.newRandom(3));
+    }
+
+    @Benchmark
+    public int observeAndGetComputerMoveIndex() {
+        next = (next + 1) & (MOVE_TABLE_SIZE - 1);
+        thinker.observe(computerIndices[next], playerIndices[next]);
+        return thinker.getComputerMoveIndex();
+    }
+}
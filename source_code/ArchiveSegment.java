@@ -0,0 +1,265 @@
+package assignmentone;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * One memory-mapped file of a ResultsArchive, holding a fixed number of rounds of one game.
+ * The rounds are stored column by column (computer moves, player moves, outcomes), and a summary
+ * with the win, loss and draw counts of every pair of moves is kept up to date at the start of the file,
+ * so whole segments can be aggregated without reading their rows.
+ *
+ * <p>Layout: magic, version, number of moves, capacity and row count (4 bytes each, padded to 24),
+ * the summary (three blocks of {@code size * size} longs), then the capacity-sized computer column (shorts),
+ * player column (shorts) and outcome column (bytes). Move indices are stored as shorts and a segment is
+ * mapped as a single buffer, so games are limited to {@link #MAX_MOVES} moves and segments to 2 GB.
+ * An existing segment is checked when it is opened, so that a torn or corrupt file is reported
+ * instead of being read past its columns.</p>
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 3.0
+ */
+class ArchiveSegment {
+
+    static final int MAX_MOVES = 1 << 13;
+
+    private static final int MAGIC = 0x52505341; // "RPSA"
+    private static final int VERSION = 1;
+    private static final int ROW_COUNT_OFFSET = 16;
+    private static final int SUMMARY_OFFSET = 24;
+
+    private final MappedByteBuffer buffer;
+    private final int size;
+    private final int capacity;
+    private final int computerColumn;
+    private final int playerColumn;
+    private final int outcomeColumn;
+    private int rowCount;
+
+    /**
+     * Helper constructor: Lays out the segment on top of its mapped file.
+     *
+     * @param buffer The mapped file.
+     * @param size The number of moves in the game.
+     * @param capacity The number of rounds the segment can hold.
+     * @throws IllegalArgumentException If the game has too many moves, the segment does not fit in the buffer
+     *         or its row count is outside its capacity.
+     */
+    private ArchiveSegment(MappedByteBuffer buffer, int size, int capacity) {
+        checkLayout(size, capacity);
+        if (length(size, capacity) > buffer.capacity()) {
+            throw new IllegalArgumentException("The segment file is shorter than its layout.");
+        }
+        this.buffer = buffer;
+        this.size = size;
+        this.capacity = capacity;
+        this.computerColumn = (int) (SUMMARY_OFFSET + 3L * 8 * size * size);
+        this.playerColumn = (int) (computerColumn + 2L * capacity);
+        this.outcomeColumn = (int) (playerColumn + 2L * capacity);
+        this.rowCount = buffer.getInt(ROW_COUNT_OFFSET);
+        if (rowCount < 0 || rowCount > capacity) {
+            throw new IllegalArgumentException("The segment claims " + rowCount + " rounds but has room for "
+                    + capacity + ".");
+        }
+    }
+
+    /**
+     * Creates a new, empty segment file.
+     *
+     * @param file The file to create.
+     * @param size The number of moves in the game.
+     * @param capacity The number of rounds the segment can hold.
+     * @return The writable segment.
+     * @throws IOException If the file cannot be created or mapped.
+     * @throws IllegalArgumentException If the game has too many moves or the segment would exceed 2 GB.
+     */
+    static ArchiveSegment create(Path file, int size, int capacity) throws IOException {
+        checkLayout(size, capacity);
+        long length = length(size, capacity);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(8, size);
+            buffer.putInt(12, capacity);
+            buffer.putInt(ROW_COUNT_OFFSET, 0);
+            return new ArchiveSegment(buffer, size, capacity);
+        }
+    }
+
+    /**
+     * Opens an existing segment file.
+     *
+     * @param file The file to open.
+     * @param writable Whether rounds will be appended to the segment.
+     * @return The opened segment.
+     * @throws IOException If the file cannot be mapped or is not a segment.
+     */
+    static ArchiveSegment open(Path file, boolean writable) throws IOException {
+        StandardOpenOption[] options = writable
+                ? new StandardOpenOption[] {StandardOpenOption.READ, StandardOpenOption.WRITE}
+                : new StandardOpenOption[] {StandardOpenOption.READ};
+        try (FileChannel channel = FileChannel.open(file, options)) {
+            MappedByteBuffer buffer = channel.map(writable ? FileChannel.MapMode.READ_WRITE
+                    : FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.capacity() < SUMMARY_OFFSET || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException(file + " is not an archive segment.");
+            }
+            try {
+                ArchiveSegment segment = new ArchiveSegment(buffer, buffer.getInt(8), buffer.getInt(12));
+                segment.checkRows();
+                return segment;
+            } catch (IllegalArgumentException e) {
+                throw new IOException(file + " is corrupt: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Retrieves the number of moves in the segment's game.
+     *
+     * @return The number of moves.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Retrieves the number of rounds stored in the segment.
+     *
+     * @return The number of rounds.
+     */
+    int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Checks whether the segment has room for more rounds.
+     *
+     * @return {@code true} if the segment is full.
+     */
+    boolean isFull() {
+        return rowCount == capacity;
+    }
+
+    /**
+     * Appends one round to the columns and the summary.
+     *
+     * @param computerIndex The index of the move chosen by the computer.
+     * @param playerIndex The index of the move chosen by the player.
+     * @param outcome The outcome of the round (+1 for a computer win, -1 for a computer loss, 0 for a draw).
+     */
+    void append(int computerIndex, int playerIndex, int outcome) {
+        int row = rowCount;
+        buffer.putShort(computerColumn + 2 * row, (short) computerIndex);
+        buffer.putShort(playerColumn + 2 * row, (short) playerIndex);
+        buffer.put(outcomeColumn + row, (byte) outcome);
+
+        int summaryIndex = summaryIndex(computerIndex, playerIndex, outcome);
+        buffer.putLong(summaryIndex, buffer.getLong(summaryIndex) + 1);
+
+        rowCount = row + 1;
+        buffer.putInt(ROW_COUNT_OFFSET, rowCount);
+    }
+
+    /**
+     * Adds the summary of the whole segment to a tally.
+     *
+     * @param tally The tally to add to.
+     */
+    void addSummaryTo(ResultsTally tally) {
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                tally.add(i, j, 1, buffer.getLong(summaryIndex(i, j, 1)));
+                tally.add(i, j, -1, buffer.getLong(summaryIndex(i, j, -1)));
+                tally.add(i, j, 0, buffer.getLong(summaryIndex(i, j, 0)));
+            }
+        }
+    }
+
+    /**
+     * Adds the rounds in a range of rows to a tally by scanning the columns.
+     *
+     * @param tally The tally to add to.
+     * @param fromRow The first row to add.
+     * @param toRow The row after the last row to add.
+     */
+    void scanTo(ResultsTally tally, int fromRow, int toRow) {
+        for (int row = fromRow; row < toRow; row++) {
+            tally.record(buffer.getShort(computerColumn + 2 * row), buffer.getShort(playerColumn + 2 * row),
+                    buffer.get(outcomeColumn + row));
+        }
+    }
+
+    /**
+     * Writes any changes of a writable segment to the file.
+     */
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * Helper method: Finds the position of a summary counter.
+     *
+     * @param computerIndex The index of the computer's move.
+     * @param playerIndex The index of the player's move.
+     * @param outcome The outcome the counter counts.
+     * @return The byte position of the counter in the file.
+     */
+    private int summaryIndex(int computerIndex, int playerIndex, int outcome) {
+        int block = outcome > 0 ? 0 : outcome < 0 ? 1 : 2;
+        return (int) (SUMMARY_OFFSET + 8L * ((long) block * size * size + (long) computerIndex * size + playerIndex));
+    }
+
+    /**
+     * Helper method: Checks that every stored round holds valid move indices and a valid outcome.
+     *
+     * @throws IllegalArgumentException If a round is out of range for the game.
+     */
+    private void checkRows() {
+        for (int row = 0; row < rowCount; row++) {
+            int computerIndex = buffer.getShort(computerColumn + 2 * row);
+            int playerIndex = buffer.getShort(playerColumn + 2 * row);
+            int outcome = buffer.get(outcomeColumn + row);
+            if (computerIndex < 0 || computerIndex >= size || playerIndex < 0 || playerIndex >= size) {
+                throw new IllegalArgumentException("Round " + row + " holds a move outside the game's " + size
+                        + " moves.");
+            }
+            if (outcome < -1 || outcome > 1) {
+                throw new IllegalArgumentException("Round " + row + " holds the outcome " + outcome + ".");
+            }
+        }
+    }
+
+    /**
+     * Helper method: Checks that a segment of a game fits the layout.
+     *
+     * @param size The number of moves in the game.
+     * @param capacity The number of rounds the segment holds.
+     * @throws IllegalArgumentException If the game has too many moves or the segment would exceed 2 GB.
+     */
+    private static void checkLayout(int size, int capacity) {
+        if (size <= 0 || size > MAX_MOVES) {
+            throw new IllegalArgumentException("Archive segments support games with 1 to " + MAX_MOVES + " moves.");
+        }
+        if (capacity < 0 || length(size, capacity) > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("An archive segment of " + capacity + " rounds of " + size
+                    + " moves would exceed 2 GB.");
+        }
+    }
+
+    /**
+     * Helper method: Computes the length of a segment file.
+     *
+     * @param size The number of moves in the game.
+     * @param capacity The number of rounds the segment holds.
+     * @return The length in bytes.
+     */
+    private static long length(int size, int capacity) {
+        return SUMMARY_OFFSET + 3L * 8 * size * size + 5L * capacity;
+    }
+}
@@ -0,0 +1,19 @@
+package assignmentone;
+
+import java.nio.charset.Charset;
+
+/**
+ * Reads input from the console and writes output to it, flushing once per prompt.
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 1.0
+ */
+public class ConsoleIO extends StreamIO {
+
+    /**
+     * Constructs a ConsoleIO on System.in and System.out.
+     */
+    public ConsoleIO() {
+        super(System.in, System.out, Charset.defaultCharset());
+    }
+}
@@ -0,0 +1,134 @@
+package assignmentone;
+
+import java.io.PrintStream;
+import java.util.random.RandomGenerator;
+
+/**
+ * Runs a headless game session until the expected value of a throw is known to the precision asked for.
+ * Instead of guessing a number of rounds, the session streams every throw into a ConvergenceReporter and
+ * stops as soon as the 95% confidence interval of the expected value is within the target, or when the budget
+ * of throws runs out. The estimates are printed every {@link #PROGRESS_INTERVAL} throws while the session runs.
+ * The strategies of both sides are chosen as in {@link Simulator}, e.g. to find out whether the weighted
+ * moves of rpsfw beat uniform play.
+ *
+ * <p>The interval assumes independent throws, which holds while neither side adapts to the other.
+ * Against adaptive strategies, the estimate describes the session as played, learning included.</p>
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 1.0
+ */
+public class Convergence {
+
+    /**
+     * The number of throws between progress lines, set with {@code -Drps.progress.interval=<throws>}.
+     */
+    public static final int PROGRESS_INTERVAL = Math.max(1, Integer.getInteger("rps.progress.interval", 100_000));
+
+    /**
+     * The number of throws the interval needs before it is trusted, since very short runs can show no variance.
+     */
+    public static final long MINIMUM_THROWS = 1_000;
+
+    private static final int CHECK_INTERVAL = 1_000;
+    private static final long DEFAULT_MAXIMUM_THROWS = 1_000_000_000L;
+
+    /**
+     * The entry point for convergence runs.
+     * Expects the game type, the target half-width of the confidence interval, and optionally the budget of
+     * throws and a seed, e.g. {@code rpsfw 0.005 100000000 42}.
+     *
+     * @param args Command line arguments: the game type, the half-width, the maximum number of throws and the seed.
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: Convergence <gameType> <halfWidth> [maxThrows] [seed]");
+            return;
+        }
+
+        String gameType = args[0];
+        double halfWidth = Double.parseDouble(args[1]);
+        long maximumThrows = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_MAXIMUM_THROWS;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        GameDefinition game = GameRegistry.getDefault().get(gameType);
+        if (game == null) {
+            System.out.println("ERROR: Unknown game type " + gameType);
+            return;
+        }
+        if (!(halfWidth > 0) || maximumThrows <= 0) {
+            System.out.println("ERROR: The half-width and the number of throws must be positive.");
+            return;
+        }
+
+        RandomGenerator.SplittableGenerator random = Thinker.newRandom(seed);
+        Thinker computer = Simulator.newThinker(game, Simulator.COMPUTER_STRATEGY, random.split());
+        Thinker player = Simulator.newThinker(game, Simulator.PLAYER_STRATEGY, random.split());
+        ConvergenceReporter reporter = new ConvergenceReporter(game.getValidMoves());
+
+        System.out.println();
+        System.out.println("### CONVERGENCE of " + game.getName().toUpperCase() + " ###");
+        System.out.println();
+        System.out.println("Computer: " + computer.getStrategy().getName()
+                + ", Friend: " + player.getStrategy().getName());
+        System.out.printf("Target: expected value +/- %s at 95%% confidence, within %,d throws%n%n", halfWidth,
+                maximumThrows);
+
+        long start = System.nanoTime();
+        boolean converged = converge(computer, player, new Referee(), new GameKeeper(game), reporter, halfWidth,
+                maximumThrows, System.out);
+        long elapsed = System.nanoTime() - start;
+
+        System.out.println();
+        System.out.println(converged
+                ? String.format("Converged after %,d throws.", reporter.getThrows())
+                : String.format("Stopped at the budget of %,d throws without converging.", reporter.getThrows()));
+        System.out.println(Simulator.formatThroughput(reporter.getThrows(), elapsed));
+        System.out.println();
+        System.out.println(reporter.generateEstimates());
+        System.out.println(reporter.generateReport());
+    }
+
+    /**
+     * Plays throws between two computer players until the expected value has converged or the budget runs out.
+     * Convergence is checked every thousand throws, once {@link #MINIMUM_THROWS} throws have been made.
+     * After every throw, both players observe the moves so adaptive strategies can learn from them.
+     *
+     * @param computer The Thinker playing the computer's side.
+     * @param player The Thinker playing the friend's side.
+     * @param referee The Referee instance for determining throw outcomes.
+     * @param gameKeeper The GameKeeper instance which holds the game rules.
+     * @param reporter The ConvergenceReporter that tallies the results and keeps the estimates.
+     * @param halfWidth The target half-width of the 95% confidence interval of the expected value.
+     * @param maximumThrows The largest number of throws the reporter may hold when the run ends.
+     * @param progress The stream the progress lines are printed to, or null for none.
+     * @return {@code true} if the expected value converged, {@code false} if the budget ran out first.
+     */
+    public static boolean converge(Thinker computer, Thinker player, Referee referee, GameKeeper gameKeeper,
+            ConvergenceReporter reporter, double halfWidth, long maximumThrows, PrintStream progress) {
+        if (Metrics.ENABLED) {
+            Metrics.get().sessionStarted();
+        }
+        try {
+            for (long throwsMade = reporter.getThrows(); throwsMade < maximumThrows; ) {
+                int computerIndex = computer.getComputerMoveIndex();
+                int playerIndex = player.getComputerMoveIndex();
+
+                referee.determineWinner(playerIndex, computerIndex, gameKeeper, reporter);
+                computer.observe(computerIndex, playerIndex);
+                player.observe(playerIndex, computerIndex);
+                throwsMade++;
+
+                if (progress != null && throwsMade % PROGRESS_INTERVAL == 0) {
+                    progress.println(reporter.generateProgress());
+                }
+                if (throwsMade % CHECK_INTERVAL == 0 && reporter.hasConverged(halfWidth, MINIMUM_THROWS)) {
+                    return true;
+                }
+            }
+            return reporter.hasConverged(halfWidth, MINIMUM_THROWS);
+        } finally {
+            if (Metrics.ENABLED) {
+                Metrics.get().sessionEnded();
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package assignmentone;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A Reporter that also keeps running estimates of the game's value while the results come in.
+ * Every throw added to the results matrix updates, with Welford's algorithm:
+ * <ul>
+ *     <li>the expected value of a throw, from the computer's point of view (+1 win, -1 loss, 0 draw);</li>
+ *     <li>the computer's win rate over the decided rounds;</li>
+ *     <li>the expected value of a throw for each move the computer makes;</li>
+ *     <li>the contribution of each move pair to the expected value, which is the pair's outcome when the pair
+ *     is thrown and 0 otherwise, so that the contributions of every pair add up to the expected value.</li>
+ * </ul>
+ * Each throw updates only its own pair. The zeros every other pair receives in the meantime are added in a
+ * single step the next time the pair is thrown or read, so a throw costs the same however large the game is.
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 1.0
+ */
+public class ConvergenceReporter extends Reporter {
+
+    private static final int PAIRS_SHOWN = 5;
+
+    private final List<String> moves;
+    private final int size;
+    private final RunningEstimate expectedValue = new RunningEstimate();
+    private final RunningEstimate winRate = new RunningEstimate();
+    private final RunningEstimate[] moveValues;
+    private final RunningEstimate[] pairValues;
+    private long throwsAdded;
+
+    /**
+     * Constructs a ConvergenceReporter with an empty tally and no estimates.
+     *
+     * @param validMoves A list containing valid moves for the game.
+     */
+    public ConvergenceReporter(List<String> validMoves) {
+        super(validMoves);
+        this.moves = validMoves;
+        this.size = validMoves.size();
+        this.moveValues = new RunningEstimate[size];
+        for (int i = 0; i < size; i++) {
+            moveValues[i] = new RunningEstimate();
+        }
+        this.pairValues = new RunningEstimate[size * size];
+    }
+
+    /**
+     * Counts several rounds with the same moves and outcome, and adds them to every estimate.
+     *
+     * @param computerIndex The index of the move chosen by the computer.
+     * @param playerIndex The index of the move chosen by the player.
+     * @param result The outcome of the rounds (+1 for a computer win, -1 for a computer loss, 0 for a draw).
+     * @param count The number of rounds.
+     */
+    @Override
+    public void add(int computerIndex, int playerIndex, int result, long count) {
+        super.add(computerIndex, playerIndex, result, count);
+        if (count <= 0) {
+            return;
+        }
+        int outcome = Integer.signum(result);
+        RunningEstimate pairValue = getPairValue(computerIndex, playerIndex);
+        if (count == 1) {
+            expectedValue.add(outcome);
+            moveValues[computerIndex].add(outcome);
+            pairValue.add(outcome);
+            if (outcome != Referee.DRAW) {
+                winRate.add(outcome == Referee.COMPUTER_WIN ? 1 : 0);
+            }
+        } else {
+            expectedValue.addRepeated(outcome, count);
+            moveValues[computerIndex].addRepeated(outcome, count);
+            pairValue.addRepeated(outcome, count);
+            if (outcome != Referee.DRAW) {
+                winRate.addRepeated(outcome == Referee.COMPUTER_WIN ? 1 : 0, count);
+            }
+        }
+        throwsAdded += count;
+    }
+
+    /**
+     * Retrieves the number of throws added, including draws.
+     *
+     * @return The number of throws.
+     */
+    public long getThrows() {
+        return throwsAdded;
+    }
+
+    /**
+     * Retrieves the estimate of the expected value of a throw, from the computer's point of view.
+     *
+     * @return The estimate.
+     */
+    public RunningEstimate getExpectedValue() {
+        return expectedValue;
+    }
+
+    /**
+     * Retrieves the estimate of the computer's win rate over the decided rounds.
+     *
+     * @return The estimate.
+     */
+    public RunningEstimate getWinRate() {
+        return winRate;
+    }
+
+    /**
+     * Retrieves the estimate of the expected value of a throw in which the computer makes the given move.
+     *
+     * @param computerIndex The index of the computer's move.
+     * @return The estimate.
+     */
+    public RunningEstimate getMoveValue(int computerIndex) {
+        return moveValues[computerIndex];
+    }
+
+    /**
+     * Retrieves the estimate of a move pair's contribution to the expected value of a throw,
+     * brought up to date with every throw added so far.
+     *
+     * @param computerIndex The index of the computer's move.
+     * @param playerIndex The index of the player's move.
+     * @return The estimate.
+     */
+    public RunningEstimate getPairValue(int computerIndex, int playerIndex) {
+        int pair = computerIndex * size + playerIndex;
+        RunningEstimate pairValue = pairValues[pair];
+        if (pairValue == null) {
+            pairValue = new RunningEstimate();
+            pairValues[pair] = pairValue;
+        }
+        pairValue.addRepeated(0, throwsAdded - pairValue.getCount());
+        return pairValue;
+    }
+
+    /**
+     * Checks whether the 95% confidence interval of the expected value is within the given half-width.
+     *
+     * @param halfWidth The largest half-width accepted.
+     * @param minimumThrows The number of throws needed before the interval is trusted.
+     * @return {@code true} if the estimate has converged.
+     */
+    public boolean hasConverged(double halfWidth, long minimumThrows) {
+        return throwsAdded >= minimumThrows && expectedValue.getHalfWidth(RunningEstimate.Z_95) <= halfWidth;
+    }
+
+    /**
+     * Generates a one-line summary of the estimates of the expected value and the win rate.
+     *
+     * @return The summary as a String.
+     */
+    public String generateProgress() {
+        return String.format("%,15d throws: expected value %s, win rate %s", throwsAdded, expectedValue,
+                formatRate(winRate));
+    }
+
+    /**
+     * Generates the report of every estimate: the expected value and win rate, the value of each of the
+     * computer's moves, and the move pairs contributing most to the expected value.
+     *
+     * @return The report as a String.
+     */
+    public String generateEstimates() {
+        StringBuilder report = new StringBuilder();
+        report.append("Expected value of a throw: ").append(expectedValue).append(" (95% confidence)\n");
+        report.append("Computer win rate:         ").append(formatRate(winRate)).append(" of decided rounds\n");
+        report.append("\nBy computer move:\n");
+        for (int i = 0; i < size; i++) {
+            report.append(String.format("  %-10s %s  (%,d throws)%n", moves.get(i), moveValues[i],
+                    moveValues[i].getCount()));
+        }
+
+        List<Integer> pairs = new ArrayList<>();
+        for (int pair = 0; pair < pairValues.length; pair++) {
+            if (pairValues[pair] != null) {
+                pairs.add(pair);
+            }
+        }
+        pairs.sort((a, b) -> Double.compare(Math.abs(getPairValue(b / size, b % size).getMean()),
+                Math.abs(getPairValue(a / size, a % size).getMean())));
+        report.append("\nLargest pair contributions (computer vs friend):\n");
+        for (int pair : pairs.subList(0, Math.min(PAIRS_SHOWN, pairs.size()))) {
+            String moveNames = moves.get(pair / size) + " vs " + moves.get(pair % size);
+            report.append(String.format("  %-21s %s%n", moveNames, getPairValue(pair / size, pair % size)));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Helper method: Formats an estimate of a rate, which is never negative.
+     *
+     * @param rate The estimate.
+     * @return The rate and the half-width of its 95% confidence interval.
+     */
+    private static String formatRate(RunningEstimate rate) {
+        return String.format("%.4f +/- %.4f", rate.getMean(), rate.getHalfWidth(RunningEstimate.Z_95));
+    }
+}
@@ -0,0 +1,32 @@
+package assignmentone;
+
+/**
+ * Stores a game's rules as a plain two-dimensional matrix.
+ * This is a view of the given matrix, so changes to the matrix are visible through it.
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 1.0
+ */
+public class DenseRules implements RulesMatrix {
+
+    private final int[][] matrix;
+
+    /**
+     * Constructs a DenseRules view of the given matrix.
+     *
+     * @param matrix The matrix that holds the game's rules.
+     */
+    public DenseRules(int[][] matrix) {
+        this.matrix = matrix;
+    }
+
+    @Override
+    public int size() {
+        return matrix.length;
+    }
+
+    @Override
+    public int getOutcome(int computerIndex, int playerIndex) {
+        return matrix[computerIndex][playerIndex];
+    }
+}
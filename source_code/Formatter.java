@@ -1,21 +1,53 @@
 package assignmentone;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Provides formatting utilities for presenting matrices.
+ * Matrices are rendered into a reusable ReportBuffer, with numbers written straight into its chars,
+ * and the title, header, separator and row labels are built once per Formatter and reused.
  * 
  * @author Nikola Desnica (UNI: ndd2131)
- * @version 3.0
+ * @version 5.0
  */
 public class Formatter {
 
     public List<String> validMoves;
     public int[][] matrix;
+    protected RulesMatrix rules;
+
+    private final ReportBuffer buffer = new ReportBuffer();
+    private final Map<String, String> centeredTitles = new HashMap<>();
+    private final String[] headers = new String[2];
+    private final String[] separatorLines = new String[2];
+    private String[] rowLabels;
 
     public Formatter(List<String> validMoves, int[][] matrix) {
         this.validMoves = validMoves;
         this.matrix = matrix;
+        this.rules = new DenseRules(matrix);
+    }
+
+    /**
+     * Constructor for subclasses that render their own rows.
+     *
+     * @param validMoves A list containing valid moves for the game.
+     */
+    protected Formatter(List<String> validMoves) {
+        this.validMoves = validMoves;
+    }
+
+    /**
+     * Constructor for displaying rules kept in any representation, such as the packed rules of large games.
+     *
+     * @param validMoves A list containing valid moves for the game.
+     * @param rules The game's rules.
+     */
+    public Formatter(List<String> validMoves, RulesMatrix rules) {
+        this.validMoves = validMoves;
+        this.rules = rules;
     }
 
     /**
@@ -24,16 +56,25 @@ public class Formatter {
      * @return String representation of the rules matrix.
      */
     public String displayMatrix() {
-        StringBuilder display = new StringBuilder();
+        ReportBuffer display = buffer.clear();
 
         display.append(generateCenteredTitle("Friend"));
         display.append(generateHeader(0));
         display.append(generateSeparatorLine(0));
-        display.append(generateRows());
+        appendRows(display);
 
         return display.toString();
     }
 
+    /**
+     * Retrieves the buffer this Formatter renders into. Its content is replaced by every rendering.
+     *
+     * @return The reusable buffer.
+     */
+    protected ReportBuffer getBuffer() {
+        return buffer;
+    }
+
     /**
      * Helper method: Centers the given title in the middle of the report.
      * 
@@ -41,16 +82,20 @@ public class Formatter {
      * @return A string with the centered title.
      */
     protected String generateCenteredTitle(String title) {
-        StringBuilder builder = new StringBuilder();
-        int headerWidth = 3 * validMoves.size(); // 3 characters per move (want friend centered above moves).
-        int paddingSize = (headerWidth - title.length()) / 2 + 13; // 13 for side padding, 3 to center word.
-
-        for (int i = 0; i < paddingSize; i++) {
-            builder.append(" ");
+        String centered = centeredTitles.get(title);
+        if (centered == null) {
+            StringBuilder builder = new StringBuilder();
+            int headerWidth = 3 * validMoves.size(); // 3 characters per move (want friend centered above moves).
+            int paddingSize = (headerWidth - title.length()) / 2 + 13; // 13 for side padding, 3 to center word.
+
+            for (int i = 0; i < paddingSize; i++) {
+                builder.append(" ");
+            }
+            builder.append(title).append("\n");
+            centered = builder.toString();
+            centeredTitles.put(title, centered);
         }
-        builder.append(title).append("\n");
-
-        return builder.toString();
+        return centered;
     }
 
     /**
@@ -59,17 +104,21 @@ public class Formatter {
      * @return A string representation of the header.
      */
     protected String generateHeader(int isResultMatrix) {
-        StringBuilder builder = new StringBuilder("            ");
-        for (String move : validMoves) {
-            builder.append(String.format("%3s", move.toUpperCase().charAt(0)));
-        }
-        if (isResultMatrix == 1) {
-            builder.append("   Tot\n");
-        }
-        else {
-            builder.append("\n");
+        int kind = isResultMatrix == 1 ? 1 : 0;
+        if (headers[kind] == null) {
+            StringBuilder builder = new StringBuilder("            ");
+            for (String move : validMoves) {
+                builder.append("  ").append(move.toUpperCase().charAt(0));
+            }
+            if (isResultMatrix == 1) {
+                builder.append("   Tot\n");
+            }
+            else {
+                builder.append("\n");
+            }
+            headers[kind] = builder.toString();
         }
-        return builder.toString();
+        return headers[kind];
     }
 
     /**
@@ -78,16 +127,20 @@ public class Formatter {
      * @return A string representation of the separator line.
      */
     protected String generateSeparatorLine(int isResultMatrix) {
-        StringBuilder builder = new StringBuilder("            ");
-        int totalWidth = 3 * validMoves.size() + 1;
-        if (isResultMatrix == 1) {
-            totalWidth += 9;
-        }
-        for (int i = 0; i < totalWidth; i++) {
-            builder.append("-");
+        int kind = isResultMatrix == 1 ? 1 : 0;
+        if (separatorLines[kind] == null) {
+            StringBuilder builder = new StringBuilder("            ");
+            int totalWidth = 3 * validMoves.size() + 1;
+            if (isResultMatrix == 1) {
+                totalWidth += 9;
+            }
+            for (int i = 0; i < totalWidth; i++) {
+                builder.append("-");
+            }
+            builder.append("\n");
+            separatorLines[kind] = builder.toString();
         }
-        builder.append("\n");
-        return builder.toString();
+        return separatorLines[kind];
     }
 
     /**
@@ -96,22 +149,40 @@ public class Formatter {
      * @return A string representation of the rules matrix rows.
      */
     protected String generateRows() {
-        StringBuilder builder = new StringBuilder();
+        return appendRows(buffer.clear()).toString();
+    }
 
-        for (int i = 0; i < matrix.length; i++) {
-            if (i == 0) {
-                builder.append("Computer ");
-            } else {
-                builder.append("         ");
+    /**
+     * Helper method: Renders the rows of the rules matrix into a buffer.
+     *
+     * @param builder The buffer to render into.
+     * @return The buffer.
+     */
+    protected ReportBuffer appendRows(ReportBuffer builder) {
+        for (int i = 0; i < rules.size(); i++) {
+            builder.append(generateRowLabel(i));
+            for (int j = 0; j < rules.size(); j++) {
+                builder.appendPadded(rules.getOutcome(i, j), 3);
             }
-            builder.append(validMoves.get(i).toUpperCase().charAt(0)).append(" |");
+            builder.append('\n');
+        }
+        return builder;
+    }
 
-            for (int j = 0; j < matrix[i].length; j++) {
-                builder.append(String.format("%3d", matrix[i][j]));
+    /**
+     * Helper method: Generates the label at the start of a matrix row.
+     *
+     * @param row The index of the row.
+     * @return The row label, with "Computer" in front of the first row.
+     */
+    protected String generateRowLabel(int row) {
+        if (rowLabels == null) {
+            rowLabels = new String[validMoves.size()];
+            for (int i = 0; i < rowLabels.length; i++) {
+                String prefix = i == 0 ? "Computer " : "         ";
+                rowLabels[i] = prefix + validMoves.get(i).toUpperCase().charAt(0) + " |";
             }
-            builder.append("\n");
         }
-
-        return builder.toString();
+        return rowLabels[row];
     }
 }
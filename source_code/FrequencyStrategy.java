@@ -0,0 +1,66 @@
+package assignmentone;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Predicts that the opponent plays the move they have played most often so far.
+ * The counts live in one array indexed by move, and the most frequent move is updated on every count,
+ * so observing a round and predicting both take constant time.
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 2.0
+ */
+public class FrequencyStrategy extends PredictiveStrategy {
+
+    private final long[] counts;
+    private int mostFrequent = -1;
+
+    /**
+     * Constructs a FrequencyStrategy for the given game.
+     *
+     * @param analysis The analysis of the game's rules.
+     */
+    public FrequencyStrategy(GameAnalysis analysis) {
+        super(analysis);
+        this.counts = new long[size];
+    }
+
+    @Override
+    public void observe(int ownMove, int opponentMove) {
+        long count = ++counts[opponentMove];
+        if (mostFrequent < 0 || count > counts[mostFrequent]) {
+            mostFrequent = opponentMove;
+        }
+    }
+
+    @Override
+    protected int predict() {
+        return mostFrequent;
+    }
+
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        for (long count : counts) {
+            out.writeLong(count);
+        }
+        out.writeInt(mostFrequent);
+    }
+
+    @Override
+    public void readState(DataInput in) throws IOException {
+        for (int i = 0; i < size; i++) {
+            counts[i] = in.readLong();
+        }
+        mostFrequent = in.readInt();
+        if (mostFrequent < -1 || mostFrequent >= size) {
+            throw new IOException("The saved state does not fit the strategy.");
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "frequency";
+    }
+}
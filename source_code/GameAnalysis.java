@@ -0,0 +1,302 @@
+package assignmentone;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Holds the tables a strategy needs to respond to a game's rules, computed once per game.
+ * For every move it lists the moves that beat it, it stores the payoffs as a flat row-major array
+ * so expected values against a distribution are plain dot products, and it solves the game's
+ * mixed-strategy Nash equilibrium by fictitious play.
+ *
+ * <p>Each GameDefinition keeps its own analysis, so every strategy of the same game shares it,
+ * and the analysis goes away together with its game.</p>
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 2.0
+ */
+public class GameAnalysis {
+
+    public static final double EQUILIBRIUM_TOLERANCE = 1e-3;
+    private static final int MIN_ITERATIONS = 10_000;
+    private static final long WORK_BUDGET = 100_000_000L;
+
+    private final int size;
+    private final double[] payoffs;
+    private final int[] counterStarts;
+    private final int[] counterMoves;
+    private final int[] counters;
+    private volatile double[] equilibrium;
+
+    /**
+     * Analyzes the given rules.
+     * The equilibrium is only solved the first time it is requested.
+     *
+     * @param rules The game's rules.
+     */
+    public GameAnalysis(RulesMatrix rules) {
+        this.size = rules.size();
+        this.payoffs = new double[size * size];
+        this.counterStarts = new int[size + 1];
+        this.counters = new int[size];
+
+        int beating = 0;
+        for (int move = 0; move < size; move++) {
+            for (int opponentMove = 0; opponentMove < size; opponentMove++) {
+                int outcome = rules.getOutcome(move, opponentMove);
+                payoffs[move * size + opponentMove] = outcome;
+                if (outcome > 0) {
+                    beating++;
+                }
+            }
+        }
+
+        this.counterMoves = new int[beating];
+        int next = 0;
+        for (int move = 0; move < size; move++) {
+            counterStarts[move] = next;
+            int draw = -1;
+            for (int counter = 0; counter < size; counter++) {
+                double payoff = payoffs[counter * size + move];
+                if (payoff > 0) {
+                    counterMoves[next++] = counter;
+                } else if (payoff == 0 && (draw < 0 || draw == move)) {
+                    draw = counter;
+                }
+            }
+            counters[move] = next > counterStarts[move] ? counterMoves[counterStarts[move]] : draw;
+        }
+        counterStarts[size] = next;
+    }
+
+    /**
+     * Retrieves the shared analysis of a game, computing it on first use.
+     *
+     * @param game The definition of the game.
+     * @return The game's analysis.
+     */
+    public static GameAnalysis of(GameDefinition game) {
+        return game.getAnalysis();
+    }
+
+    /**
+     * The entry point for comparing the equilibrium of each game with its hand-tuned weights.
+     * Expects an optional list of game types; all registered games are analyzed if none are given.
+     *
+     * @param args Command line arguments: the game types to analyze.
+     */
+    public static void main(String[] args) {
+        GameRegistry registry = GameRegistry.getDefault();
+        List<String> gameTypes = args.length > 0 ? List.of(args) : registry.getGameTypes();
+        for (String gameType : gameTypes) {
+            GameDefinition game = registry.get(gameType);
+            if (game == null) {
+                System.out.println("ERROR: Unknown game type " + gameType);
+                continue;
+            }
+            System.out.print(describe(game));
+        }
+    }
+
+    /**
+     * Describes the counters, equilibrium and exploitability of a game's strategies.
+     *
+     * @param game The definition of the game.
+     * @return A multi-line description of the analysis.
+     */
+    public static String describe(GameDefinition game) {
+        GameAnalysis analysis = of(game);
+        List<String> validMoves = game.getValidMoves();
+        double[] equilibrium = analysis.getEquilibrium();
+        double[] uniform = new double[analysis.size()];
+        Arrays.fill(uniform, 1.0 / uniform.length);
+
+        StringBuilder builder = new StringBuilder();
+        builder.append("\n### ANALYSIS of ").append(game.getName().toUpperCase()).append(" ###\n\n");
+        builder.append(String.format("%-12s %-12s %8s %8s\n", "Move", "Beaten by", "Nash", "Weights"));
+
+        double[] weights = null;
+        if (game.getWeights() != null) {
+            weights = new double[analysis.size()];
+            double total = 0;
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] = game.getWeights().getOrDefault(validMoves.get(i), 0);
+                total += weights[i];
+            }
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] /= total;
+            }
+        }
+
+        for (int move = 0; move < analysis.size(); move++) {
+            StringBuilder beatenBy = new StringBuilder();
+            for (int i = analysis.counterStarts[move]; i < analysis.counterStarts[move + 1]; i++) {
+                beatenBy.append(validMoves.get(analysis.counterMoves[i]));
+            }
+            builder.append(String.format("%-12s %-12s %8.4f %8s\n", validMoves.get(move), beatenBy,
+                    equilibrium[move], weights == null ? "-" : String.format("%.4f", weights[move])));
+        }
+
+        builder.append("\nExploitability (best response payoff per round):\n");
+        builder.append(String.format("  Nash equilibrium: %.4f\n", analysis.getExploitability(equilibrium)));
+        builder.append(String.format("  Uniform:          %.4f\n", analysis.getExploitability(uniform)));
+        if (weights != null) {
+            builder.append(String.format("  Hand weights:     %.4f (best response: %s)\n",
+                    analysis.getExploitability(weights), validMoves.get(analysis.bestResponse(weights))));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Retrieves the number of moves in the game.
+     *
+     * @return The number of moves.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Retrieves the counter played against a single predicted move.
+     *
+     * @param move The index of the predicted move.
+     * @return The index of the first move that beats it, or draws with it if nothing beats it.
+     */
+    public int getCounter(int move) {
+        return counters[move];
+    }
+
+    /**
+     * Retrieves the number of moves that beat a move.
+     *
+     * @param move The index of the move.
+     * @return The number of moves that beat it.
+     */
+    public int getCounterCount(int move) {
+        return counterStarts[move + 1] - counterStarts[move];
+    }
+
+    /**
+     * Retrieves one of the moves that beat a move.
+     *
+     * @param move The index of the move.
+     * @param i The position of the counter, from 0 to {@link #getCounterCount(int)} - 1.
+     * @return The index of the counter move.
+     */
+    public int getCounter(int move, int i) {
+        return counterMoves[counterStarts[move] + i];
+    }
+
+    /**
+     * Computes the expected payoff of every move against an opponent's distribution of moves.
+     *
+     * @param distribution The probability of each opponent move.
+     * @param expectedValues The array the expected payoff of each move is written into.
+     */
+    public void expectedValues(double[] distribution, double[] expectedValues) {
+        for (int move = 0; move < size; move++) {
+            expectedValues[move] = dot(move, distribution);
+        }
+    }
+
+    /**
+     * Finds the move with the highest expected payoff against an opponent's distribution of moves.
+     *
+     * @param distribution The probability, or any non-negative weight, of each opponent move.
+     * @return The index of the best response.
+     */
+    public int bestResponse(double[] distribution) {
+        int best = 0;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int move = 0; move < size; move++) {
+            double value = dot(move, distribution);
+            if (value > bestValue) {
+                bestValue = value;
+                best = move;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Computes how much a best response wins per round against a mixed strategy.
+     * The equilibrium of a fair game cannot be exploited, so its exploitability is close to 0.
+     *
+     * @param distribution The probability of each move of the mixed strategy.
+     * @return The expected payoff of the best response.
+     */
+    public double getExploitability(double[] distribution) {
+        return dot(bestResponse(distribution), distribution);
+    }
+
+    /**
+     * Retrieves the game's Nash-equilibrium mixed strategy, solving it on first use.
+     *
+     * @return A copy of the probability of each move.
+     */
+    public double[] getEquilibrium() {
+        double[] solved = equilibrium;
+        if (solved == null) {
+            solved = solveEquilibrium();
+            equilibrium = solved;
+        }
+        return solved.clone();
+    }
+
+    /**
+     * Helper method: Solves the equilibrium by fictitious play.
+     * Each iteration plays the best response to the mix of all moves played so far. The expected values of
+     * that mix are updated incrementally, one row per iteration, since the payoffs are antisymmetric
+     * and a column of the matrix is the negated row. Play stops once the mix is nearly unexploitable,
+     * or once about {@value #WORK_BUDGET} payoffs have been visited.
+     *
+     * @return The probability of each move.
+     */
+    private double[] solveEquilibrium() {
+        long[] plays = new long[size];
+        double[] values = new double[size];
+        long maxIterations = Math.max(MIN_ITERATIONS, WORK_BUDGET / size);
+
+        long iteration = 0;
+        int best = 0;
+        while (iteration < maxIterations) {
+            plays[best]++;
+            iteration++;
+            int row = best * size;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int move = 0; move < size; move++) {
+                double value = values[move] - payoffs[row + move];
+                values[move] = value;
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = move;
+                }
+            }
+            if (bestValue <= EQUILIBRIUM_TOLERANCE * iteration && iteration >= MIN_ITERATIONS) {
+                break;
+            }
+        }
+
+        double[] distribution = new double[size];
+        for (int move = 0; move < size; move++) {
+            distribution[move] = (double) plays[move] / iteration;
+        }
+        return distribution;
+    }
+
+    /**
+     * Helper method: Computes the expected payoff of one move against a distribution.
+     *
+     * @param move The index of the move.
+     * @param distribution The weight of each opponent move.
+     * @return The dot product of the move's payoff row and the distribution.
+     */
+    private double dot(int move, double[] distribution) {
+        int row = move * size;
+        double total = 0;
+        for (int opponentMove = 0; opponentMove < size; opponentMove++) {
+            total += payoffs[row + opponentMove] * distribution[opponentMove];
+        }
+        return total;
+    }
+}
@@ -9,12 +9,10 @@ import java.util.Map;
  * This class contains static data and methods, serving as a centralized hub for game settings.
  * 
  * @author Nikola Desnica (UNI: ndd2131)
- * @version 2.0
+ * @version 4.0
  */
 public class GameConfig {
 
-    private static String currentGameType;
-
     private static final int[][] RPS_RULES = {
         {0, -1, 1},
         {1, 0, -1},
@@ -49,6 +47,26 @@ public class GameConfig {
     private static final List<String> RPSFW_MOVES = Arrays.asList("r", "p", "s", "f", "w");
     private static final List<String> RPMFW_MOVES = Arrays.asList("r", "p", "m", "f", "w");
 
+    private static final List<String> GAME_TYPES = List.of("rps", "rpskl", "rpsfw", "rpmfw");
+
+    private static final Map<String, String> GAME_TITLES = Map.of(
+        "rps", "Rock Paper Scissors",
+        "rpskl", "Rock Paper Scissors Lizard Spock",
+        "rpsfw", "Rock Paper Scissors Fire Water",
+        "rpmfw", "Rock Paper Monkey Fire Water"
+    );
+
+    private static final Map<String, String> MOVE_NAMES = Map.of(
+        "r", "Rock",
+        "p", "Paper",
+        "s", "Scissors",
+        "k", "Spock",
+        "l", "Lizard",
+        "f", "Fire",
+        "w", "Water",
+        "m", "Monkey"
+    );
+
     private static final Map<String, Integer> RPSFW_WEIGHTS = Map.of(
         "r", 1,
         "p", 1,
@@ -65,23 +83,34 @@ public class GameConfig {
     );
 
     /**
-     * Sets the current game type.
-     * 
-     * @param gameType The chosen game type as a string.
+     * Lists the built-in game types in the order they are offered to the player.
+     *
+     * @return The names of the built-in game types.
      */
-    public static void setCurrentGameType(String gameType) {
-        currentGameType = gameType;
+    public static List<String> getGameTypes() {
+        return GAME_TYPES;
     }
 
     /**
-     * Retrieves the current game type.
-     * 
-     * @return The currently selected game type.
+     * Retrieves the full title of a built-in game type.
+     *
+     * @param gameName Name of the game type.
+     * @return The title of the game, or null if the game type is not found.
      */
-    public static String getCurrentGameType() {
-        return currentGameType;
+    public static String getTitleForGame(String gameName) {
+        return GAME_TITLES.get(gameName);
     }
-    
+
+    /**
+     * Retrieves the display name of a built-in move.
+     *
+     * @param move The move as typed by the player.
+     * @return The display name of the move, or null if the move is not a built-in one.
+     */
+    public static String getNameForMove(String move) {
+        return MOVE_NAMES.get(move);
+    }
+
     /**
      * Fetches the rules matrix for the specified game type.
      * 
@@ -0,0 +1,276 @@
+package assignmentone;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Describes a single game variant: its moves, their display names, the rules matrix and optional move weights.
+ * Definitions are immutable and validated on construction, and every move is resolved to its index
+ * through a hash lookup so that games with many moves stay fast.
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 2.0
+ */
+public class GameDefinition {
+
+    /**
+     * The input every game loop reads as quitting, so no game may use it as a move.
+     */
+    public static final String QUIT_MOVE = "q";
+
+    private final String name;
+    private final String title;
+    private final List<String> validMoves;
+    private final List<String> moveNames;
+    private final RulesMatrix rules;
+    private final Map<String, Integer> weights;
+    private final Map<String, Integer> moveIndices;
+    private volatile GameAnalysis analysis;
+
+    /**
+     * Constructs a GameDefinition and checks that it describes a playable game.
+     *
+     * @param name The short name of the game type, as typed by the player.
+     * @param title The full title of the game.
+     * @param validMoves The list containing valid moves for the game.
+     * @param moveNames The display name of each move, in the same order as the moves.
+     * @param rulesMatrix The matrix that holds the game's rules.
+     * @param weights The weight of each move, in the same order as the moves, or null for uniform play.
+     * @throws IllegalArgumentException If the definition is inconsistent, uses the quit move {@code q},
+     *         or the matrix is not antisymmetric.
+     */
+    public GameDefinition(String name, String title, List<String> validMoves, List<String> moveNames,
+                          int[][] rulesMatrix, int[] weights) {
+        this(name, title, validMoves, moveNames, copyMatrix(name, rulesMatrix, validMoves.size()), weights);
+    }
+
+    /**
+     * Constructs a GameDefinition around rules that are already built, and checks that it describes a playable game.
+     *
+     * @param name The short name of the game type, as typed by the player.
+     * @param title The full title of the game.
+     * @param validMoves The list containing valid moves for the game.
+     * @param moveNames The display name of each move, in the same order as the moves.
+     * @param rules The game's rules; they must not be modified afterwards.
+     * @param weights The weight of each move, in the same order as the moves, or null for uniform play.
+     * @throws IllegalArgumentException If the definition is inconsistent, uses the quit move {@code q},
+     *         or the rules are not antisymmetric.
+     */
+    public GameDefinition(String name, String title, List<String> validMoves, List<String> moveNames,
+                          RulesMatrix rules, int[] weights) {
+        int size = validMoves.size();
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("A game needs a name.");
+        }
+        if (size == 0 || moveNames.size() != size) {
+            throw new IllegalArgumentException(name + ": every move needs exactly one name.");
+        }
+        if (weights != null && weights.length != size) {
+            throw new IllegalArgumentException(name + ": every move needs exactly one weight.");
+        }
+
+        this.name = name;
+        this.title = title;
+        this.validMoves = Collections.unmodifiableList(new ArrayList<>(validMoves));
+        this.moveNames = Collections.unmodifiableList(new ArrayList<>(moveNames));
+
+        Map<String, Integer> indices = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            if (QUIT_MOVE.equalsIgnoreCase(validMoves.get(i))) {
+                throw new IllegalArgumentException(name + ": move " + validMoves.get(i) + " is reserved for quitting.");
+            }
+            if (indices.put(validMoves.get(i), i) != null) {
+                throw new IllegalArgumentException(name + ": move " + validMoves.get(i) + " is listed twice.");
+            }
+        }
+        this.moveIndices = Collections.unmodifiableMap(indices);
+
+        if (rules.size() != size) {
+            throw new IllegalArgumentException(name + ": the rules matrix needs one row per move.");
+        }
+        this.rules = rules;
+        checkAntisymmetric();
+
+        if (weights == null) {
+            this.weights = null;
+        } else {
+            Map<String, Integer> weightMap = new LinkedHashMap<>();
+            for (int i = 0; i < size; i++) {
+                if (weights[i] < 0) {
+                    throw new IllegalArgumentException(name + ": move weights must not be negative.");
+                }
+                weightMap.put(validMoves.get(i), weights[i]);
+            }
+            this.weights = Collections.unmodifiableMap(weightMap);
+        }
+    }
+
+    /**
+     * Creates the definition of one of the built-in games from GameConfig.
+     *
+     * @param gameName Name of the built-in game type.
+     * @return The definition of the game.
+     */
+    public static GameDefinition fromGameConfig(String gameName) {
+        List<String> validMoves = GameConfig.getValidMovesForGame(gameName);
+        List<String> moveNames = new ArrayList<>();
+        for (String move : validMoves) {
+            moveNames.add(GameConfig.getNameForMove(move));
+        }
+
+        Map<String, Integer> weightMap = GameConfig.getWeightsForGame(gameName);
+        int[] weights = null;
+        if (weightMap != null) {
+            weights = new int[validMoves.size()];
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] = weightMap.getOrDefault(validMoves.get(i), 0);
+            }
+        }
+
+        return new GameDefinition(gameName, GameConfig.getTitleForGame(gameName), validMoves, moveNames,
+                GameConfig.getMatrixForGame(gameName), weights);
+    }
+
+    /**
+     * Retrieves the short name of the game type.
+     *
+     * @return The name of the game type.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retrieves the full title of the game.
+     *
+     * @return The title of the game.
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Retrieves the valid moves of the game.
+     *
+     * @return An unmodifiable list of the valid moves.
+     */
+    public List<String> getValidMoves() {
+        return validMoves;
+    }
+
+    /**
+     * Retrieves the number of moves in the game.
+     *
+     * @return The number of moves.
+     */
+    public int size() {
+        return validMoves.size();
+    }
+
+    /**
+     * Retrieves the display name of a move.
+     *
+     * @param index The index of the move.
+     * @return The display name of the move.
+     */
+    public String getMoveName(int index) {
+        return moveNames.get(index);
+    }
+
+    /**
+     * Resolves a move to its index.
+     *
+     * @param move The move to resolve.
+     * @return The index of the move, or -1 if the move is not valid for this game.
+     */
+    public int indexOf(String move) {
+        Integer index = moveIndices.get(move);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Retrieves the rules of the game, shared with every session of the game.
+     *
+     * @return The game's rules.
+     */
+    public RulesMatrix getRules() {
+        return rules;
+    }
+
+    /**
+     * Retrieves the analysis of the game's rules, computing it on first use.
+     *
+     * @return The game's analysis, shared with every strategy of the game.
+     */
+    public GameAnalysis getAnalysis() {
+        GameAnalysis computed = analysis;
+        if (computed == null) {
+            computed = new GameAnalysis(rules);
+            analysis = computed;
+        }
+        return computed;
+    }
+
+    /**
+     * Copies the rules of the game into a plain matrix.
+     *
+     * @return A new matrix holding the game's rules.
+     */
+    public int[][] getRulesMatrix() {
+        return rules.toArray();
+    }
+
+    /**
+     * Retrieves the move weights of the game.
+     *
+     * @return An unmodifiable map of move names to weights, or null if the game is played uniformly.
+     */
+    public Map<String, Integer> getWeights() {
+        return weights;
+    }
+
+    /**
+     * Helper method: Copies the rules matrix after checking its shape and values.
+     *
+     * @param name The name of the game, for error messages.
+     * @param matrix The matrix to copy.
+     * @param size The expected number of rows and columns.
+     * @return The copied rules, in the representation that suits their size.
+     */
+    private static RulesMatrix copyMatrix(String name, int[][] matrix, int size) {
+        if (matrix == null || matrix.length != size) {
+            throw new IllegalArgumentException(name + ": the rules matrix needs one row per move.");
+        }
+        int[][] copy = new int[size][];
+        for (int i = 0; i < size; i++) {
+            if (matrix[i].length != size) {
+                throw new IllegalArgumentException(name + ": row " + i + " of the rules matrix needs one value per move.");
+            }
+            for (int value : matrix[i]) {
+                if (value < -1 || value > 1) {
+                    throw new IllegalArgumentException(name + ": rules can only hold -1, 0 or 1.");
+                }
+            }
+            copy[i] = matrix[i].clone();
+        }
+        return RulesMatrix.of(copy);
+    }
+
+    /**
+     * Helper method: Checks that every outcome is mirrored, so the rules do not depend on who plays which side.
+     */
+    private void checkAntisymmetric() {
+        for (int i = 0; i < rules.size(); i++) {
+            for (int j = i; j < rules.size(); j++) {
+                if (rules.getOutcome(i, j) != -rules.getOutcome(j, i)) {
+                    throw new IllegalArgumentException(name + ": the rules matrix is not antisymmetric at "
+                            + validMoves.get(i) + " vs " + validMoves.get(j) + ".");
+                }
+            }
+        }
+    }
+}
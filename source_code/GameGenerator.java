@@ -0,0 +1,319 @@
+package assignmentone;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates balanced games with any odd number of moves, where every move beats exactly half of the others.
+ *
+ * <p>The rules start from the rotational tournament, where move i beats the (N - 1) / 2 moves that follow
+ * it around a circle, as in rock-paper-scissors. The moves are then shuffled, and random 3-cycles are reversed:
+ * reversing a cycle keeps every move's number of wins and losses, so the game stays balanced while its
+ * structure gets less regular. Everything is drawn from a seeded generator, so a seed always gives the
+ * same game, and the rows are filled in parallel straight into PackedRules.</p>
+ *
+ * <p>Moves are short codes over {@value #MOVE_SYMBOLS}, all of the same length, e.g. {@code a} to {@code h}
+ * for 7 moves or {@code aa} to {@code cv} for 101. The letter q is left out, since it quits a game.
+ * The lists of moves and names are computed on demand instead of being stored, so they take no memory
+ * however large the game is, and can be handed straight to GameKeeper, Reporter and Formatter.</p>
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 1.0
+ */
+public class GameGenerator {
+
+    public static final String MOVE_SYMBOLS = "abcdefghijklmnoprstuvwxyz0123456789";
+
+    private static final int BLOCK_ROWS = 64;
+
+    /**
+     * Helper constructor: GameGenerator only has static methods.
+     */
+    private GameGenerator() {
+    }
+
+    /**
+     * The entry point for generating a balanced game.
+     * Expects the number of moves and optionally a seed and a binary definition file to write,
+     * e.g. {@code 101 42 games/balanced101.gameb}. Prints the analysis of the generated rules.
+     *
+     * @param args Command line arguments: the number of moves, the seed and the output file.
+     * @throws IOException If the definition file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: GameGenerator <numberOfMoves> [seed] [file.gameb]");
+            return;
+        }
+        int size = Integer.parseInt(args[0]);
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+
+        long start = System.nanoTime();
+        GameDefinition game;
+        try {
+            game = generate("balanced" + size, size, seed);
+        } catch (IllegalArgumentException e) {
+            System.out.println("ERROR: " + e.getMessage());
+            return;
+        }
+        System.out.printf("Generated %s (%d moves, seed %d) in %.3f ms%n", game.getName(), size, seed,
+                (System.nanoTime() - start) / 1e6);
+        System.out.print(new RulesAnalyzer(game.getRules()).describe(game.getValidMoves()));
+
+        if (args.length > 2) {
+            GameRegistry.writeBinary(game, Paths.get(args[2]));
+            System.out.println("Wrote " + game.getName() + " to " + args[2]);
+        }
+    }
+
+    /**
+     * Generates a balanced game definition.
+     *
+     * @param name The short name of the game type.
+     * @param size The number of moves; odd and at least 3.
+     * @param seed The seed that determines the rules.
+     * @return The definition of the generated game, played uniformly.
+     * @throws IllegalArgumentException If the number of moves is not odd or is below 3.
+     */
+    public static GameDefinition generate(String name, int size, long seed) {
+        return new GameDefinition(name, "Balanced " + size + "-move game (seed " + seed + ")",
+                moves(size), moveNames(size), generateRules(size, seed), null);
+    }
+
+    /**
+     * Generates balanced rules on the common fork-join pool.
+     *
+     * @param size The number of moves; odd and at least 3.
+     * @param seed The seed that determines the rules.
+     * @return The packed rules.
+     * @throws IllegalArgumentException If the number of moves is not odd or is below 3.
+     */
+    public static PackedRules generateRules(int size, long seed) {
+        return generateRules(size, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Generates balanced rules on the given fork-join pool.
+     * The number of 3-cycles reversed equals the number of moves.
+     *
+     * @param size The number of moves; odd and at least 3.
+     * @param seed The seed that determines the rules.
+     * @param pool The pool the rows are filled on.
+     * @return The packed rules.
+     * @throws IllegalArgumentException If the number of moves is not odd or is below 3.
+     */
+    public static PackedRules generateRules(int size, long seed, ForkJoinPool pool) {
+        if (size < 3 || size % 2 == 0) {
+            throw new IllegalArgumentException("A balanced game needs an odd number of moves, at least 3.");
+        }
+        RandomGenerator random = Thinker.newRandom(seed);
+        int[] positions = new int[size];
+        for (int i = 0; i < size; i++) {
+            positions[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = positions[i];
+            positions[i] = positions[j];
+            positions[j] = swap;
+        }
+
+        PackedRules rules = new PackedRules(size);
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (int first = 0; first < size; first += BLOCK_ROWS) {
+            int blockFirst = first;
+            int blockLast = Math.min(size, first + BLOCK_ROWS);
+            tasks.add(pool.submit(() -> fillRows(rules, positions, blockFirst, blockLast)));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+
+        reverseCycles(rules, size, random);
+        return rules;
+    }
+
+    /**
+     * Creates the list of moves of a generated game.
+     *
+     * @param size The number of moves.
+     * @return The moves, computed on demand.
+     */
+    public static List<String> moves(int size) {
+        return new GeneratedMoves(size);
+    }
+
+    /**
+     * Creates the list of display names of a generated game's moves, e.g. {@code Move 7}.
+     *
+     * @param size The number of moves.
+     * @return The names, computed on demand.
+     */
+    public static List<String> moveNames(int size) {
+        return new GeneratedNames(size);
+    }
+
+    /**
+     * Helper method: Fills a block of rows of the rotational tournament over the shuffled moves.
+     * Move a beats move b when b's position follows a's by at most (N - 1) / 2 places around the circle.
+     *
+     * @param rules The rules to fill.
+     * @param positions The position of every move on the circle.
+     * @param first The first row of the block.
+     * @param last The row after the last row of the block.
+     */
+    private static void fillRows(PackedRules rules, int[] positions, int first, int last) {
+        int size = positions.length;
+        int half = (size - 1) / 2;
+        for (int a = first; a < last; a++) {
+            for (int b = 0; b < size; b++) {
+                int distance = positions[b] - positions[a];
+                if (distance < 0) {
+                    distance += size;
+                }
+                if (distance != 0) {
+                    rules.setOutcome(a, b, distance <= half ? 1 : -1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Helper method: Reverses random 3-cycles, one per move, so the game is no longer a plain rotation.
+     * Three random moves form a cycle in about a quarter of the tries.
+     *
+     * @param rules The rules to change.
+     * @param size The number of moves.
+     * @param random The generator the moves are drawn from.
+     */
+    private static void reverseCycles(PackedRules rules, int size, RandomGenerator random) {
+        for (int reversed = 0; reversed < size; ) {
+            int a = random.nextInt(size);
+            int b = random.nextInt(size);
+            int c = random.nextInt(size);
+            if (rules.getOutcome(a, b) > 0 && rules.getOutcome(b, c) > 0 && rules.getOutcome(c, a) > 0) {
+                setBeats(rules, b, a);
+                setBeats(rules, c, b);
+                setBeats(rules, a, c);
+                reversed++;
+            }
+        }
+    }
+
+    /**
+     * Helper method: Makes one move beat another, mirroring the outcome.
+     *
+     * @param rules The rules to change.
+     * @param winner The move that wins.
+     * @param loser The move that loses.
+     */
+    private static void setBeats(PackedRules rules, int winner, int loser) {
+        rules.setOutcome(winner, loser, 1);
+        rules.setOutcome(loser, winner, -1);
+    }
+
+    /**
+     * The moves of a generated game: codes of the same length over {@link #MOVE_SYMBOLS}.
+     */
+    private static class GeneratedMoves extends AbstractList<String> implements RandomAccess {
+
+        private final int size;
+        private final int width;
+
+        /**
+         * Constructs the list of moves.
+         *
+         * @param size The number of moves.
+         */
+        GeneratedMoves(int size) {
+            this.size = size;
+            int width = 1;
+            for (long codes = MOVE_SYMBOLS.length(); codes < size; codes *= MOVE_SYMBOLS.length()) {
+                width++;
+            }
+            this.width = width;
+        }
+
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            char[] code = new char[width];
+            for (int k = width - 1; k >= 0; k--) {
+                code[k] = MOVE_SYMBOLS.charAt(index % MOVE_SYMBOLS.length());
+                index /= MOVE_SYMBOLS.length();
+            }
+            return new String(code);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public int indexOf(Object move) {
+            if (!(move instanceof String) || ((String) move).length() != width) {
+                return -1;
+            }
+            String code = (String) move;
+            long index = 0;
+            for (int k = 0; k < width; k++) {
+                int digit = MOVE_SYMBOLS.indexOf(code.charAt(k));
+                if (digit < 0) {
+                    return -1;
+                }
+                index = index * MOVE_SYMBOLS.length() + digit;
+            }
+            return index < size ? (int) index : -1;
+        }
+
+        @Override
+        public int lastIndexOf(Object move) {
+            return indexOf(move);
+        }
+
+        @Override
+        public boolean contains(Object move) {
+            return indexOf(move) >= 0;
+        }
+    }
+
+    /**
+     * The display names of a generated game's moves.
+     */
+    private static class GeneratedNames extends AbstractList<String> implements RandomAccess {
+
+        private final int size;
+
+        /**
+         * Constructs the list of names.
+         *
+         * @param size The number of moves.
+         */
+        GeneratedNames(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return "Move " + (index + 1);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package assignmentone;
+
+/**
+ * The input and output a Talker uses to interact with the player.
+ * Output may be buffered until {@link #flush()} is called, which the Talker does once before every prompt
+ * is answered, so a round costs one write no matter how many lines it prints.
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 1.0
+ */
+public interface GameIO {
+
+    /**
+     * Reads the next line of input.
+     *
+     * @return The line without its line break, or null if there is no more input.
+     */
+    String readLine();
+
+    /**
+     * Writes text without a line break.
+     *
+     * @param text The text to write.
+     */
+    void print(String text);
+
+    /**
+     * Writes text followed by a line break.
+     *
+     * @param text The text to write.
+     */
+    default void println(String text) {
+        print(text);
+        print("\n");
+    }
+
+    /**
+     * Writes an empty line.
+     */
+    default void println() {
+        print("\n");
+    }
+
+    /**
+     * Sends all buffered output to its destination.
+     */
+    void flush();
+}
@@ -1,18 +1,25 @@
 package assignmentone;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Maintains the game's rules and move validations.
  * The class facilitates the quick retrieval of game outcomes and move validity checks.
+ * Moves can be resolved once to their index in the list of valid moves, after which
+ * outcomes are looked up directly in the rules matrix.
+ * When metrics are enabled, it also counts how often each of its moves is picked.
  * 
  * @author Nikola Desnica (UNI: ndd2131)
- * @version 2.0
+ * @version 5.0
  */
 public class GameKeeper {
 
-    private int[][] rulesMatrix;
+    private RulesMatrix rules;
     private List<String> validMoves;
+    private Map<String, Integer> moveIndices = new HashMap<>();
+    private Metrics.MovePicks movePicks;
 
     /**
      * Constructs a GameKeeper instance with the provided rules matrix and valid moves.
@@ -21,8 +28,65 @@ public class GameKeeper {
      * @param validMoves The list containing valid moves for the game.
      */
     public GameKeeper(int[][] rulesMatrix, List<String> validMoves) {
-        this.rulesMatrix = rulesMatrix;
+        this(new DenseRules(rulesMatrix), validMoves);
+    }
+
+    /**
+     * Constructs a GameKeeper instance with the provided rules and valid moves.
+     *
+     * @param rules The game's rules, in any representation.
+     * @param validMoves The list containing valid moves for the game.
+     */
+    public GameKeeper(RulesMatrix rules, List<String> validMoves) {
+        this(rules, validMoves, String.join("", validMoves));
+    }
+
+    /**
+     * Constructs a GameKeeper instance for the given game definition.
+     *
+     * @param game The definition of the game to keep.
+     */
+    public GameKeeper(GameDefinition game) {
+        this(game.getRules(), game.getValidMoves(), game.getName());
+    }
+
+    /**
+     * Helper constructor: Sets up the move indices and, if metrics are enabled, the move pick counters.
+     *
+     * @param rules The game's rules, in any representation.
+     * @param validMoves The list containing valid moves for the game.
+     * @param gameName The name under which the move picks are counted.
+     */
+    private GameKeeper(RulesMatrix rules, List<String> validMoves, String gameName) {
+        this.rules = rules;
         this.validMoves = validMoves;
+        for (int i = 0; i < validMoves.size(); i++) {
+            moveIndices.put(validMoves.get(i), i);
+        }
+        if (Metrics.ENABLED) {
+            this.movePicks = Metrics.get().movePicks(gameName, validMoves);
+        }
+    }
+
+    /**
+     * Resolves a move to its index in the list of valid moves.
+     *
+     * @param move The move to resolve.
+     * @return The index of the move, or -1 if the move is not valid for this game.
+     */
+    public int indexOf(String move) {
+        Integer index = moveIndices.get(move);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Retrieves the move at the given index.
+     *
+     * @param index The index of the move.
+     * @return The move at that index.
+     */
+    public String getMove(int index) {
+        return validMoves.get(index);
     }
 
     /**
@@ -33,13 +97,37 @@ public class GameKeeper {
      * @return The outcome value: +1 for computer win, -1 for computer loss, and 0 for a draw.
      */
     public int getOutcome(String computerMove, String playerMove) {
-        int computerIndex = validMoves.indexOf(computerMove);
-        int playerIndex = validMoves.indexOf(playerMove);
+        int computerIndex = indexOf(computerMove);
+        int playerIndex = indexOf(playerMove);
 
         if (computerIndex != -1 && playerIndex != -1) {
-            return rulesMatrix[computerIndex][playerIndex];
+            return getOutcome(computerIndex, playerIndex);
         } else {
             return 0;
         }
     }
+
+    /**
+     * Retrieves the outcome of a round based on the indices of the computer's and player's moves.
+     *
+     * @param computerIndex The index of the move chosen by the computer.
+     * @param playerIndex The index of the move chosen by the player.
+     * @return The outcome value: +1 for computer win, -1 for computer loss, and 0 for a draw.
+     */
+    public int getOutcome(int computerIndex, int playerIndex) {
+        return rules.getOutcome(computerIndex, playerIndex);
+    }
+
+    /**
+     * Counts the moves picked in a round, if metrics are enabled.
+     *
+     * @param computerIndex The index of the move chosen by the computer.
+     * @param playerIndex The index of the move chosen by the player.
+     */
+    public void recordPicks(int computerIndex, int playerIndex) {
+        if (Metrics.ENABLED) {
+            movePicks.record(computerIndex);
+            movePicks.record(playerIndex);
+        }
+    }
 }
@@ -0,0 +1,385 @@
+package assignmentone;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds every game definition that can be played, keyed by game type.
+ * The built-in games come from GameConfig. Further games are loaded at startup from a directory of
+ * definition files, either in the CSV text format ({@code .game}) or in the compact binary format ({@code .gameb}).
+ *
+ * <p>The text format lists one setting per line, followed by the rules matrix:</p>
+ * <pre>
+ * name,rps7
+ * title,Rock Paper Scissors 7
+ * move,r,Rock[,weight]
+ * ...
+ * rules
+ * 0,1,1,1,-1,-1,-1
+ * ...
+ * </pre>
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 3.0
+ */
+public class GameRegistry {
+
+    public static final String GAMES_DIRECTORY_PROPERTY = "rps.games";
+    public static final int MAX_MOVES = 1 << 14;
+    private static final String TEXT_EXTENSION = ".game";
+    private static final String BINARY_EXTENSION = ".gameb";
+    private static final int BINARY_MAGIC = 0x52505347; // "RPSG"
+    private static final int BINARY_VERSION = 1;
+
+    private final Map<String, GameDefinition> games;
+
+    /**
+     * Constructs a GameRegistry holding the given definitions, in the given order.
+     *
+     * @param definitions The game definitions; later definitions replace earlier ones with the same name.
+     */
+    public GameRegistry(List<GameDefinition> definitions) {
+        Map<String, GameDefinition> byName = new LinkedHashMap<>();
+        for (GameDefinition definition : definitions) {
+            byName.put(definition.getName(), definition);
+        }
+        this.games = Collections.unmodifiableMap(byName);
+    }
+
+    /**
+     * Retrieves the registry used by the programs in this project.
+     * It holds the built-in games plus the games found in the directory named by the
+     * {@code rps.games} system property, if it is set.
+     *
+     * @return The default registry.
+     */
+    public static GameRegistry getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Creates a registry holding only the built-in games from GameConfig.
+     *
+     * @return The registry of built-in games.
+     */
+    public static GameRegistry builtIn() {
+        List<GameDefinition> definitions = new ArrayList<>();
+        for (String gameType : GameConfig.getGameTypes()) {
+            definitions.add(GameDefinition.fromGameConfig(gameType));
+        }
+        return new GameRegistry(definitions);
+    }
+
+    /**
+     * Creates a registry holding the built-in games plus every definition file in a directory.
+     * A file that cannot be read or does not describe a valid game is reported and skipped,
+     * so one bad file does not take the other games down with it.
+     *
+     * @param directory The directory holding {@code .game} and {@code .gameb} files.
+     * @return The registry of built-in and loaded games.
+     * @throws IOException If the directory cannot be listed.
+     */
+    public static GameRegistry load(Path directory) throws IOException {
+        List<GameDefinition> definitions = new ArrayList<>(builtIn().games.values());
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        Collections.sort(files);
+
+        for (Path file : files) {
+            String fileName = file.getFileName().toString();
+            try {
+                if (fileName.endsWith(TEXT_EXTENSION)) {
+                    definitions.add(readText(file));
+                } else if (fileName.endsWith(BINARY_EXTENSION)) {
+                    definitions.add(readBinary(file));
+                }
+            } catch (IOException e) {
+                System.err.println("ERROR: Skipped game file " + e.getMessage());
+            }
+        }
+        return new GameRegistry(definitions);
+    }
+
+    /**
+     * Retrieves the definition of a game type.
+     *
+     * @param gameName Name of the game type.
+     * @return The definition of the game, or null if the game type is not found.
+     */
+    public GameDefinition get(String gameName) {
+        return games.get(gameName);
+    }
+
+    /**
+     * Lists the registered game types in the order they are offered to the player.
+     *
+     * @return The names of the registered game types.
+     */
+    public List<String> getGameTypes() {
+        return new ArrayList<>(games.keySet());
+    }
+
+    /**
+     * Reads a game definition from a file in the CSV text format.
+     *
+     * @param file The file to read.
+     * @return The game definition.
+     * @throws IOException If the file cannot be read, one of its lines is malformed
+     *         or it does not describe a valid game.
+     */
+    public static GameDefinition readText(Path file) throws IOException {
+        String name = null;
+        String title = null;
+        List<String> moves = new ArrayList<>();
+        List<String> moveNames = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        List<int[]> rows = new ArrayList<>();
+        boolean readingRules = false;
+
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (CharacterCodingException e) {
+            throw new IOException(file + " is not UTF-8 text.", e);
+        }
+        for (int lineNumber = 1; lineNumber <= lines.size(); lineNumber++) {
+            String line = lines.get(lineNumber - 1).trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split(",");
+            try {
+                if (readingRules) {
+                    if (fields.length > MAX_MOVES || rows.size() >= MAX_MOVES) {
+                        throw new IOException("games support up to " + MAX_MOVES + " moves");
+                    }
+                    int[] row = new int[fields.length];
+                    for (int i = 0; i < fields.length; i++) {
+                        row[i] = Integer.parseInt(fields[i].trim());
+                    }
+                    rows.add(row);
+                    continue;
+                }
+                switch (fields[0].trim()) {
+                    case "name":
+                        requireFields(fields, 2, 2);
+                        name = fields[1].trim();
+                        break;
+                    case "title":
+                        requireFields(fields, 2, Integer.MAX_VALUE);
+                        title = line.substring(line.indexOf(',') + 1).trim();
+                        break;
+                    case "move":
+                        requireFields(fields, 2, 4);
+                        if (moves.size() >= MAX_MOVES) {
+                            throw new IOException("games support up to " + MAX_MOVES + " moves");
+                        }
+                        moves.add(fields[1].trim());
+                        moveNames.add(fields.length > 2 ? fields[2].trim() : fields[1].trim());
+                        if (fields.length > 3) {
+                            weights.add(Integer.parseInt(fields[3].trim()));
+                        }
+                        break;
+                    case "rules":
+                        requireFields(fields, 1, 1);
+                        readingRules = true;
+                        break;
+                    default:
+                        throw new IOException("unknown setting " + fields[0]);
+                }
+            } catch (NumberFormatException e) {
+                throw new IOException(file + ":" + lineNumber + ": malformed number in \"" + line + "\"", e);
+            } catch (IOException e) {
+                throw new IOException(file + ":" + lineNumber + ": " + e.getMessage());
+            }
+        }
+
+        if (!weights.isEmpty() && weights.size() != moves.size()) {
+            throw new IOException(file + ": either every move or no move needs a weight.");
+        }
+        int[] weightArray = null;
+        if (!weights.isEmpty()) {
+            weightArray = weights.stream().mapToInt(Integer::intValue).toArray();
+        }
+        try {
+            return new GameDefinition(name, title == null ? name : title, moves, moveNames,
+                    rows.toArray(new int[0][]), weightArray);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads a game definition from a file in the compact binary format.
+     * The rules matrix is stored with 2 bits per cell.
+     *
+     * @param file The file to read.
+     * @return The game definition.
+     * @throws IOException If the file cannot be read, is not a game definition or does not describe a valid game.
+     */
+    public static GameDefinition readBinary(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != BINARY_MAGIC || in.readUnsignedByte() != BINARY_VERSION) {
+                throw new IOException(file + " is not a game definition file.");
+            }
+            String name = in.readUTF();
+            String title = in.readUTF();
+            int size = in.readInt();
+            if (size <= 0 || size > MAX_MOVES) {
+                throw new IOException(file + " holds an invalid number of moves: " + size);
+            }
+
+            List<String> moves = new ArrayList<>(size);
+            List<String> moveNames = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                moves.add(in.readUTF());
+                moveNames.add(in.readUTF());
+            }
+
+            int[] weights = null;
+            if (in.readBoolean()) {
+                weights = new int[size];
+                for (int i = 0; i < size; i++) {
+                    weights[i] = in.readInt();
+                }
+            }
+
+            byte[] packed = new byte[(size * size + 3) / 4];
+            in.readFully(packed);
+            int[][] rules = new int[size][size];
+            for (int cell = 0; cell < size * size; cell++) {
+                int bits = (packed[cell >> 2] >> ((cell & 3) << 1)) & 3;
+                rules[cell / size][cell % size] = bits - 1;
+            }
+            return new GameDefinition(name, title, moves, moveNames, rules, weights);
+        } catch (EOFException e) {
+            throw new IOException(file + " is cut short.", e);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes a game definition to a file in the compact binary format.
+     *
+     * @param definition The game definition to write.
+     * @param file The file to write to.
+     * @throws IOException If the file cannot be written.
+     * @throws IllegalArgumentException If the game has more than {@link #MAX_MOVES} moves.
+     */
+    public static void writeBinary(GameDefinition definition, Path file) throws IOException {
+        int size = definition.size();
+        if (size > MAX_MOVES) {
+            throw new IllegalArgumentException("Definition files support games with up to " + MAX_MOVES + " moves.");
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(BINARY_MAGIC);
+            out.writeByte(BINARY_VERSION);
+            out.writeUTF(definition.getName());
+            out.writeUTF(definition.getTitle());
+            out.writeInt(size);
+            for (int i = 0; i < size; i++) {
+                out.writeUTF(definition.getValidMoves().get(i));
+                out.writeUTF(definition.getMoveName(i));
+            }
+
+            Map<String, Integer> weights = definition.getWeights();
+            out.writeBoolean(weights != null);
+            if (weights != null) {
+                for (String move : definition.getValidMoves()) {
+                    out.writeInt(weights.get(move));
+                }
+            }
+
+            RulesMatrix rules = definition.getRules();
+            byte[] packed = new byte[(size * size + 3) / 4];
+            for (int cell = 0; cell < size * size; cell++) {
+                int bits = rules.getOutcome(cell / size, cell % size) + 1;
+                packed[cell >> 2] |= (byte) (bits << ((cell & 3) << 1));
+            }
+            out.write(packed);
+        }
+    }
+
+    /**
+     * Converts a text definition file into the compact binary format.
+     * Expects the source and the target file, e.g. {@code games/rps7.game games/rps7.gameb}.
+     *
+     * @param args Command line arguments: the text file to read and the binary file to write.
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: GameRegistry <source.game> <target.gameb>");
+            return;
+        }
+        try {
+            GameDefinition definition = readText(Paths.get(args[0]));
+            writeBinary(definition, Paths.get(args[1]));
+            System.out.println("Wrote " + definition.getName() + " (" + definition.size() + " moves) to " + args[1]);
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("ERROR: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Helper method: Checks the number of fields of a setting line.
+     *
+     * @param fields The fields of the line.
+     * @param minimum The smallest number of fields allowed.
+     * @param maximum The largest number of fields allowed.
+     * @throws IOException If the line has too few or too many fields.
+     */
+    private static void requireFields(String[] fields, int minimum, int maximum) throws IOException {
+        if (fields.length < minimum || fields.length > maximum) {
+            String expected = minimum == maximum ? String.valueOf(minimum - 1)
+                    : maximum == Integer.MAX_VALUE ? "at least " + (minimum - 1) : (minimum - 1) + " to " + (maximum - 1);
+            throw new IOException(fields[0].trim() + " expects " + expected + " value(s), found " + (fields.length - 1));
+        }
+    }
+
+    /**
+     * Lazily loads the default registry the first time it is needed.
+     * If the games directory cannot be read, only the built-in games are offered.
+     */
+    private static class DefaultHolder {
+
+        private static final GameRegistry INSTANCE = loadDefault();
+
+        /**
+         * Helper method: Loads the built-in games and the games of the configured directory.
+         *
+         * @return The default registry.
+         */
+        private static GameRegistry loadDefault() {
+            String directory = System.getProperty(GAMES_DIRECTORY_PROPERTY);
+            if (directory == null) {
+                return builtIn();
+            }
+            try {
+                return load(Paths.get(directory));
+            } catch (IOException | RuntimeException e) {
+                System.err.println("ERROR: Could not load games from " + directory + ": " + e);
+                return builtIn();
+            }
+        }
+    }
+}
@@ -0,0 +1,439 @@
+package assignmentone;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.random.RandomGenerator;
+
+/**
+ * Serves game sessions over TCP, one session per connection, using the text protocol of ServerSession.
+ * A single thread multiplexes every connection with a Selector, so the server holds only a small
+ * buffer and a session per client and can keep many thousands of sessions open at once.
+ * Given a snapshot directory, the server snapshots its sessions into a SessionStore, so clients can
+ * resume them after losing their connection or after the server is restarted.
+ * A session that fails only closes its own connection; the server and the other sessions keep running.
+ * A client that sends faster than it reads is not read from until its replies are sent, so that no connection
+ * can make the server queue more than {@link #MAX_QUEUED_BYTES} of replies.
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 4.0
+ */
+public class GameServer implements AutoCloseable {
+
+    public static final int DEFAULT_PORT = 5555;
+    public static final int MAX_LINE_LENGTH = 1024;
+    public static final int MAX_QUEUED_BYTES = 64 * 1024;
+
+    private final GameRegistry registry;
+    private final String strategyName;
+    private final RandomGenerator.SplittableGenerator random;
+    private final SessionStore store;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final Queue<Runnable> selectorTasks = new ConcurrentLinkedQueue<>();
+    private volatile boolean running = true;
+    private int openSessions;
+
+    /**
+     * Constructs a GameServer listening on the given port.
+     *
+     * @param port The port to listen on; 0 picks a free port.
+     * @param registry The registry holding every game that can be played.
+     * @param strategyName The name of the strategy the computer plays in every session.
+     * @param seed The seed from which every session's random generator is split.
+     * @throws IOException If the port cannot be opened.
+     * @throws IllegalArgumentException If the strategy cannot play every game of the registry.
+     */
+    public GameServer(int port, GameRegistry registry, String strategyName, long seed) throws IOException {
+        this(port, registry, strategyName, seed, null);
+    }
+
+    /**
+     * Constructs a GameServer listening on the given port that snapshots its sessions.
+     *
+     * @param port The port to listen on; 0 picks a free port.
+     * @param registry The registry holding every game that can be played.
+     * @param strategyName The name of the strategy the computer plays in every session.
+     * @param seed The seed from which every session's random generator is split.
+     * @param snapshotDirectory The directory the sessions are snapshotted to, or null to keep them in memory only.
+     * @throws IOException If the port or the snapshot directory cannot be opened.
+     * @throws IllegalArgumentException If the strategy cannot play every game of the registry.
+     */
+    public GameServer(int port, GameRegistry registry, String strategyName, long seed, Path snapshotDirectory)
+            throws IOException {
+        for (String gameType : registry.getGameTypes()) {
+            Strategy.create(strategyName, registry.get(gameType));
+        }
+        this.registry = registry;
+        this.strategyName = strategyName;
+        this.random = Thinker.newRandom(seed);
+        this.store = snapshotDirectory == null ? null : new SessionStore(snapshotDirectory, registry);
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port), 1024);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     * The entry point for the game server.
+     * Expects an optional port, the name of the computer's strategy and a snapshot directory,
+     * e.g. {@code 5555 markov2 sessions}.
+     *
+     * @param args Command line arguments: the port, the strategy and the snapshot directory.
+     * @throws IOException If the server cannot be started.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        String strategyName = args.length > 1 ? args[1] : "weighted";
+        Path snapshotDirectory = args.length > 2 ? Paths.get(args[2]) : null;
+        try (GameServer server = new GameServer(port, GameRegistry.getDefault(), strategyName, System.nanoTime(),
+                snapshotDirectory)) {
+            System.out.println("Serving games on port " + server.getPort() + " with strategy " + strategyName);
+            server.serve();
+        } catch (IllegalArgumentException e) {
+            System.out.println("ERROR: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Retrieves the port the server is listening on.
+     *
+     * @return The local port.
+     * @throws IOException If the port cannot be read.
+     */
+    public int getPort() throws IOException {
+        return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+    }
+
+    /**
+     * Retrieves the number of sessions currently connected.
+     *
+     * @return The number of open sessions.
+     */
+    public int getOpenSessions() {
+        return openSessions;
+    }
+
+    /**
+     * Accepts connections and plays their sessions until {@link #stop()} is called.
+     *
+     * @throws IOException If the selector fails.
+     */
+    public void serve() throws IOException {
+        while (running) {
+            selector.select();
+            for (Runnable task = selectorTasks.poll(); task != null; task = selectorTasks.poll()) {
+                task.run();
+            }
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                if (!key.isValid()) {
+                    continue;
+                }
+                if (key.isAcceptable()) {
+                    accept();
+                    continue;
+                }
+                try {
+                    if (key.isReadable()) {
+                        read(key);
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        write(key);
+                        if (key.isValid()) {
+                            handleLines(key);
+                        }
+                    }
+                } catch (IOException e) {
+                    close(key);
+                } catch (RuntimeException e) {
+                    System.err.println("ERROR: Closing a session that failed: " + e);
+                    close(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops the server loop; it can be called from any thread.
+     */
+    public void stop() {
+        running = false;
+        selector.wakeup();
+    }
+
+    /**
+     * Closes the listening socket and every connection, snapshotting the sessions still in progress.
+     *
+     * @throws IOException If the sockets cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        for (SelectionKey key : selector.keys()) {
+            if (key.isValid() && key.attachment() instanceof Connection) {
+                ((Connection) key.attachment()).session.suspend();
+            }
+            key.channel().close();
+        }
+        selector.close();
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    /**
+     * Helper method: Accepts every pending connection and greets it.
+     * A connection that cannot be set up is dropped without affecting the others.
+     *
+     * @throws IOException If the listening socket fails.
+     */
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            try {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            } catch (IOException e) {
+                channel.close();
+                continue;
+            }
+            Connection connection = new Connection(new ServerSession(registry, strategyName, random.split(), store));
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ, connection);
+            openSessions++;
+            try {
+                send(key, connection.session.welcome());
+            } catch (IOException e) {
+                close(key);
+            }
+        }
+    }
+
+    /**
+     * Helper method: Reads from a connection and handles every complete line.
+     *
+     * @param key The key of the connection.
+     * @throws IOException If the connection fails.
+     */
+    private void read(SelectionKey key) throws IOException {
+        Connection connection = (Connection) key.attachment();
+        if (connection.isPaused()) {
+            return;
+        }
+        int read = ((SocketChannel) key.channel()).read(connection.input);
+        if (read < 0) {
+            connection.closeWhenSent = true;
+            if (connection.output.isEmpty()) {
+                close(key);
+            } else {
+                updateInterest(key);
+            }
+            return;
+        }
+        handleLines(key);
+    }
+
+    /**
+     * Helper method: Handles the complete lines read from a connection, until the connection is paused.
+     * Lines left over stay in the input buffer and are handled once the connection can go on.
+     *
+     * @param key The key of the connection.
+     * @throws IOException If the connection fails.
+     */
+    private void handleLines(SelectionKey key) throws IOException {
+        Connection connection = (Connection) key.attachment();
+        ByteBuffer input = connection.input;
+        input.flip();
+        int lineStart = 0;
+        for (int i = input.position(); i < input.limit() && !connection.isPaused(); i++) {
+            if (input.get(i) != '\n') {
+                continue;
+            }
+            int end = i > lineStart && input.get(i - 1) == '\r' ? i - 1 : i;
+            byte[] bytes = new byte[end - lineStart];
+            input.get(lineStart, bytes);
+            lineStart = i + 1;
+
+            if (!connection.session.isFinished()) {
+                send(key, connection.session.handle(new String(bytes, StandardCharsets.US_ASCII)));
+                if (connection.session.getResuming() != null) {
+                    connection.session.getResuming().whenComplete((snapshot, e) -> runOnSelector(() -> resumed(key)));
+                }
+            }
+        }
+        input.position(lineStart);
+        input.compact();
+
+        if (!input.hasRemaining() && !connection.isPaused()) {
+            send(key, "ERROR Line too long\nBYE\n");
+            connection.closeWhenSent = true;
+        }
+        if (connection.session.isFinished()) {
+            connection.closeWhenSent = true;
+        }
+        if (connection.closeWhenSent && connection.output.isEmpty()) {
+            close(key);
+            return;
+        }
+        updateInterest(key);
+    }
+
+    /**
+     * Helper method: Sends the reply to a RESUME command once its snapshot is restored,
+     * then handles the lines that arrived in the meantime.
+     *
+     * @param key The key of the connection.
+     */
+    private void resumed(SelectionKey key) {
+        if (!key.isValid()) {
+            return;
+        }
+        try {
+            send(key, ((Connection) key.attachment()).session.completeResume());
+            if (key.isValid()) {
+                handleLines(key);
+            }
+        } catch (IOException e) {
+            close(key);
+        } catch (RuntimeException e) {
+            System.err.println("ERROR: Closing a session that failed: " + e);
+            close(key);
+        }
+    }
+
+    /**
+     * Helper method: Runs a task on the server thread, from any thread.
+     *
+     * @param task The task to run.
+     */
+    private void runOnSelector(Runnable task) {
+        selectorTasks.add(task);
+        selector.wakeup();
+    }
+
+    /**
+     * Helper method: Queues a reply and tries to write it right away.
+     *
+     * @param key The key of the connection.
+     * @param reply The reply to send; nothing is sent if it is empty.
+     * @throws IOException If the connection fails.
+     */
+    private void send(SelectionKey key, String reply) throws IOException {
+        if (reply.isEmpty()) {
+            return;
+        }
+        Connection connection = (Connection) key.attachment();
+        ByteBuffer buffer = ByteBuffer.wrap(reply.getBytes(StandardCharsets.US_ASCII));
+        connection.output.add(buffer);
+        connection.queuedBytes += buffer.remaining();
+        write(key);
+    }
+
+    /**
+     * Helper method: Writes queued replies until they are sent or the socket is full.
+     * While replies are left, the connection waits for the socket to become writable.
+     *
+     * @param key The key of the connection.
+     * @throws IOException If the connection fails.
+     */
+    private void write(SelectionKey key) throws IOException {
+        Connection connection = (Connection) key.attachment();
+        SocketChannel channel = (SocketChannel) key.channel();
+        while (!connection.output.isEmpty()) {
+            ByteBuffer buffer = connection.output.peek();
+            connection.queuedBytes -= channel.write(buffer);
+            if (buffer.hasRemaining()) {
+                updateInterest(key);
+                return;
+            }
+            connection.output.poll();
+        }
+        if (connection.closeWhenSent) {
+            close(key);
+            return;
+        }
+        updateInterest(key);
+    }
+
+    /**
+     * Helper method: Waits for the socket to become writable while replies are queued,
+     * and for new lines only while the connection is neither paused nor closing.
+     *
+     * @param key The key of the connection.
+     */
+    private void updateInterest(SelectionKey key) {
+        if (!key.isValid()) {
+            return;
+        }
+        Connection connection = (Connection) key.attachment();
+        int ops = connection.isPaused() || connection.closeWhenSent ? 0 : SelectionKey.OP_READ;
+        if (!connection.output.isEmpty()) {
+            ops |= SelectionKey.OP_WRITE;
+        }
+        key.interestOps(ops);
+    }
+
+    /**
+     * Helper method: Closes a connection.
+     *
+     * @param key The key of the connection.
+     */
+    private void close(SelectionKey key) {
+        if (!key.isValid()) {
+            return;
+        }
+        key.cancel();
+        openSessions--;
+        ((Connection) key.attachment()).session.suspend();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            // The connection is gone either way.
+        }
+    }
+
+    /**
+     * The buffers and session of one client connection.
+     */
+    private static class Connection {
+
+        private final ServerSession session;
+        private final ByteBuffer input = ByteBuffer.allocate(MAX_LINE_LENGTH);
+        private final ArrayDeque<ByteBuffer> output = new ArrayDeque<>();
+        private int queuedBytes;
+        private boolean closeWhenSent;
+
+        /**
+         * Constructs a Connection.
+         *
+         * @param session The session played over the connection.
+         */
+        Connection(ServerSession session) {
+            this.session = session;
+        }
+
+        /**
+         * Checks whether no further lines are handled for now, because too many replies are queued
+         * or the session is waiting for its snapshot.
+         *
+         * @return {@code true} if the connection is paused.
+         */
+        boolean isPaused() {
+            return queuedBytes >= MAX_QUEUED_BYTES || session.getResuming() != null;
+        }
+    }
+}
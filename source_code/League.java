@@ -0,0 +1,455 @@
+package assignmentone;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.random.RandomGenerator;
+import java.util.zip.CRC32;
+
+/**
+ * Ranks strategies by playing a round-robin league between them and rating them with Elo.
+ * Every pairing of strategies in every game is an independent match with its own GameKeeper, Thinkers,
+ * Referee and Reporter, and the matches run as separate tasks on a work-stealing fork-join pool.
+ * Ratings are updated in schedule order once all matches are done, so the same seed always produces
+ * the same leaderboard, no matter how many workers played it.
+ *
+ * <p>When a checkpoint file is given, every finished match is appended to it, and a league restarted with
+ * the same file only plays the matches that are missing. Each record ends with a checksum, and only records
+ * that are complete and intact are resumed, so a record cut short or garbled by a crash is played again.</p>
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 2.0
+ */
+public class League {
+
+    public static final double INITIAL_RATING = 1500;
+    public static final double K_FACTOR = 32;
+
+    private static final String CHECKPOINT_HEADER = "# league";
+    private static final String CHECKPOINT_MATCH = "match";
+
+    private final List<GameDefinition> games;
+    private final List<String> strategies;
+    private final int roundsPerMatch;
+    private final long seed;
+    private final List<Match> schedule = new ArrayList<>();
+
+    /**
+     * Constructs a League and its schedule of matches.
+     *
+     * @param games The games every pairing is played in.
+     * @param strategies The names of the strategies taking part, as accepted by
+     *                   {@link Strategy#create(String, GameDefinition)}.
+     * @param roundsPerMatch The number of decided rounds of each match.
+     * @param seed The seed from which every match's random generators are split.
+     */
+    public League(List<GameDefinition> games, List<String> strategies, int roundsPerMatch, long seed) {
+        this.games = games;
+        this.strategies = strategies;
+        this.roundsPerMatch = roundsPerMatch;
+        this.seed = seed;
+
+        RandomGenerator.SplittableGenerator root = Thinker.newRandom(seed);
+        for (GameDefinition game : games) {
+            for (int i = 0; i < strategies.size(); i++) {
+                for (int j = i + 1; j < strategies.size(); j++) {
+                    schedule.add(new Match(schedule.size(), game, i, j, root.split()));
+                }
+            }
+        }
+    }
+
+    /**
+     * The entry point for strategy leagues.
+     * Expects the game types (comma-separated, or {@code all}), the number of rounds per match,
+     * the strategies (comma-separated) and optionally the number of worker threads, a seed and a checkpoint file,
+     * e.g. {@code all 100000 random,frequency,markov1,markov2,ngram3 8 42 league.txt}.
+     *
+     * @param args Command line arguments as described above.
+     * @throws IOException If the checkpoint file cannot be read or written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.out.println("Usage: League <gameTypes|all> <roundsPerMatch> <strategies> [workers] [seed] [checkpointFile]");
+            return;
+        }
+
+        GameRegistry registry = GameRegistry.getDefault();
+        List<GameDefinition> games = new ArrayList<>();
+        List<String> gameTypes = args[0].equals("all") ? registry.getGameTypes() : Arrays.asList(args[0].split(","));
+        for (String gameType : gameTypes) {
+            GameDefinition game = registry.get(gameType);
+            if (game == null) {
+                System.out.println("ERROR: Unknown game type " + gameType);
+                return;
+            }
+            games.add(game);
+        }
+        int roundsPerMatch = Integer.parseInt(args[1]);
+        List<String> strategies = Arrays.asList(args[2].split(","));
+        int workers = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : System.nanoTime();
+        Path checkpoint = args.length > 5 ? Paths.get(args[5]) : null;
+
+        for (GameDefinition game : games) {
+            for (String strategy : strategies) {
+                try {
+                    Strategy.create(strategy, game);
+                } catch (IllegalArgumentException e) {
+                    System.out.println("ERROR: " + e.getMessage());
+                    return;
+                }
+            }
+        }
+
+        League league = new League(games, strategies, roundsPerMatch, seed);
+        long start = System.nanoTime();
+        int played = league.play(workers, checkpoint);
+        long elapsed = System.nanoTime() - start;
+
+        System.out.println();
+        System.out.println("### LEAGUE of " + strategies.size() + " strategies on " + workers + " workers ###");
+        System.out.println();
+        System.out.println(String.format("Matches: %d played, %d resumed from checkpoint, in %.3f s",
+                played, league.schedule.size() - played, elapsed / 1_000_000_000.0));
+        long stopped = league.schedule.stream().filter(match -> match.stoppedEarly).count();
+        if (stopped > 0) {
+            System.out.println(String.format("ERROR: %d match(es) stopped early after %,d draws in a row; "
+                    + "their leaderboard results hold only the rounds decided until then.", stopped,
+                    Simulator.MAX_CONSECUTIVE_DRAWS));
+        }
+        for (GameDefinition game : games) {
+            System.out.println();
+            System.out.print(league.generateLeaderboard(game));
+        }
+    }
+
+    /**
+     * Plays every match that has not been played yet.
+     *
+     * @param workers The number of worker threads to use.
+     * @param checkpoint The file finished matches are appended to and resumed from, or null for none.
+     * @return The number of matches played by this call.
+     * @throws IOException If the checkpoint file cannot be read or written.
+     */
+    public int play(int workers, Path checkpoint) throws IOException {
+        BufferedWriter writer = null;
+        if (checkpoint != null) {
+            resume(checkpoint);
+            boolean fresh = !Files.exists(checkpoint) || Files.size(checkpoint) == 0;
+            writer = Files.newBufferedWriter(checkpoint, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            if (fresh) {
+                writer.write(checkpointHeader());
+                writer.newLine();
+                writer.flush();
+            } else if (!endsWithNewline(checkpoint)) {
+                writer.newLine();
+            }
+        }
+
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        BufferedWriter checkpointWriter = writer;
+        ForkJoinPool pool = new ForkJoinPool(workers);
+        try {
+            for (Match match : schedule) {
+                if (!match.isPlayed()) {
+                    tasks.add(pool.submit(() -> {
+                        match.play(roundsPerMatch);
+                        if (checkpointWriter != null) {
+                            record(checkpointWriter, match);
+                        }
+                    }));
+                }
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("League was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new IllegalStateException("League match failed", e.getCause());
+        } finally {
+            pool.shutdown();
+            if (writer != null) {
+                writer.close();
+            }
+        }
+        return tasks.size();
+    }
+
+    /**
+     * Computes the Elo rating of every strategy in a game from the matches played in it.
+     * Each match counts as one game whose score is the share of decided rounds won,
+     * and the matches are rated in schedule order.
+     *
+     * @param game The definition of the game.
+     * @return The rating of each strategy, in the order the strategies were given.
+     */
+    public double[] getRatings(GameDefinition game) {
+        double[] ratings = new double[strategies.size()];
+        Arrays.fill(ratings, INITIAL_RATING);
+        for (Match match : schedule) {
+            if (match.game != game || !match.isPlayed()) {
+                continue;
+            }
+            long decided = match.computerWins + match.playerWins;
+            double score = decided == 0 ? 0.5 : (double) match.computerWins / decided;
+            double expected = 1 / (1 + Math.pow(10, (ratings[match.player] - ratings[match.computer]) / 400));
+            double change = K_FACTOR * (score - expected);
+            ratings[match.computer] += change;
+            ratings[match.player] -= change;
+        }
+        return ratings;
+    }
+
+    /**
+     * Generates the leaderboard of a game, sorted by rating.
+     *
+     * @param game The definition of the game.
+     * @return The leaderboard as a String.
+     */
+    public String generateLeaderboard(GameDefinition game) {
+        double[] ratings = getRatings(game);
+        long[] wins = new long[strategies.size()];
+        long[] losses = new long[strategies.size()];
+        long[] draws = new long[strategies.size()];
+        for (Match match : schedule) {
+            if (match.game == game && match.isPlayed()) {
+                wins[match.computer] += match.computerWins;
+                losses[match.computer] += match.playerWins;
+                wins[match.player] += match.playerWins;
+                losses[match.player] += match.computerWins;
+                draws[match.computer] += match.draws;
+                draws[match.player] += match.draws;
+            }
+        }
+
+        Integer[] order = new Integer[strategies.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(ratings[b], ratings[a]));
+
+        StringBuilder builder = new StringBuilder();
+        builder.append(game.getTitle()).append("\n");
+        builder.append(String.format("%4s  %-14s %8s %12s %12s %12s\n", "Rank", "Strategy", "Elo", "Wins", "Losses", "Draws"));
+        for (int rank = 0; rank < order.length; rank++) {
+            int i = order[rank];
+            builder.append(String.format("%4d  %-14s %8.1f %12d %12d %12d\n", rank + 1, strategies.get(i),
+                    ratings[i], wins[i], losses[i], draws[i]));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Helper method: Marks the matches already recorded in a checkpoint file as played.
+     * Only records ended by a line break are read, since the text after the last line break may have been
+     * cut short by a crash. Records that are malformed or fail their checksum are skipped.
+     *
+     * @param checkpoint The checkpoint file; nothing is resumed if it does not exist.
+     * @throws IOException If the file cannot be read or belongs to a different league.
+     */
+    private void resume(Path checkpoint) throws IOException {
+        if (!Files.exists(checkpoint)) {
+            return;
+        }
+        String[] lines = Files.readString(checkpoint, StandardCharsets.UTF_8).split("\n", -1);
+        if (lines.length == 1 && lines[0].isEmpty()) {
+            return;
+        }
+        if (!lines[0].trim().equals(checkpointHeader())) {
+            throw new IOException(checkpoint + " is the checkpoint of a different league.");
+        }
+        // The last element follows the last line break, so it is either empty or a record cut short.
+        for (int i = 1; i < lines.length - 1; i++) {
+            restore(lines[i].trim());
+        }
+    }
+
+    /**
+     * Helper method: Marks the match of a checkpoint record as played, if the record is intact.
+     *
+     * @param line The record, in the form {@code match <index> <computerWins> <playerWins> <draws> <checksum>}.
+     * @return {@code true} if the match was restored, {@code false} if the record was skipped.
+     */
+    private boolean restore(String line) {
+        String[] fields = line.split(" ");
+        if (fields.length != 6 || !fields[0].equals(CHECKPOINT_MATCH)
+                || !fields[5].equals(checksum(line.substring(0, line.lastIndexOf(' '))))) {
+            return false;
+        }
+        int index;
+        long computerWins;
+        long playerWins;
+        long draws;
+        try {
+            index = Integer.parseInt(fields[1]);
+            computerWins = Long.parseLong(fields[2]);
+            playerWins = Long.parseLong(fields[3]);
+            draws = Long.parseLong(fields[4]);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        if (index < 0 || index >= schedule.size() || computerWins < 0 || playerWins < 0 || draws < 0) {
+            return false;
+        }
+        schedule.get(index).setResult(computerWins, playerWins, draws);
+        return true;
+    }
+
+    /**
+     * Helper method: Computes the checksum that ends a checkpoint record.
+     *
+     * @param record The record without its checksum.
+     * @return The CRC-32 of the record, as eight hexadecimal digits.
+     */
+    private static String checksum(String record) {
+        CRC32 crc = new CRC32();
+        crc.update(record.getBytes(StandardCharsets.UTF_8));
+        return String.format("%08x", crc.getValue());
+    }
+
+    /**
+     * Helper method: Checks whether a file ends with a complete line, so a line cut short by a crash
+     * is not continued by the next match.
+     *
+     * @param file The file to check.
+     * @return {@code true} if the last byte of the file is a line break.
+     * @throws IOException If the file cannot be read.
+     */
+    private static boolean endsWithNewline(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.read(last, channel.size() - 1);
+            return last.get(0) == '\n';
+        }
+    }
+
+    /**
+     * Helper method: Appends a finished match to the checkpoint file.
+     *
+     * @param writer The writer of the checkpoint file.
+     * @param match The finished match.
+     */
+    private static void record(BufferedWriter writer, Match match) {
+        String record = CHECKPOINT_MATCH + " " + match.index + " " + match.computerWins + " "
+                + match.playerWins + " " + match.draws;
+        String line = record + " " + checksum(record);
+        synchronized (writer) {
+            try {
+                writer.write(line);
+                writer.newLine();
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Helper method: Builds the first line of the checkpoint file, which identifies the league.
+     *
+     * @return The header line.
+     */
+    private String checkpointHeader() {
+        StringBuilder header = new StringBuilder(CHECKPOINT_HEADER);
+        for (GameDefinition game : games) {
+            header.append(" ").append(game.getName());
+        }
+        header.append(" | ").append(String.join(",", strategies));
+        header.append(" | ").append(roundsPerMatch).append(" | ").append(seed);
+        return header.toString();
+    }
+
+    /**
+     * One pairing of two strategies in one game, played with its own game objects.
+     */
+    private class Match {
+
+        private final int index;
+        private final GameDefinition game;
+        private final int computer;
+        private final int player;
+        private final RandomGenerator.SplittableGenerator random;
+        private volatile boolean played;
+        private volatile boolean stoppedEarly;
+        private long computerWins;
+        private long playerWins;
+        private long draws;
+
+        /**
+         * Constructs a Match.
+         *
+         * @param index The position of the match in the schedule.
+         * @param game The definition of the game to play.
+         * @param computer The index of the strategy playing the computer's side.
+         * @param player The index of the strategy playing the friend's side.
+         * @param random The generator from which the match's Thinkers are split.
+         */
+        Match(int index, GameDefinition game, int computer, int player, RandomGenerator.SplittableGenerator random) {
+            this.index = index;
+            this.game = game;
+            this.computer = computer;
+            this.player = player;
+            this.random = random;
+        }
+
+        /**
+         * Plays the match and keeps its results, noting whether it was stopped early for drawing too often.
+         *
+         * @param numberOfRounds The number of decided rounds to play.
+         */
+        void play(int numberOfRounds) {
+            GameKeeper gameKeeper = new GameKeeper(game);
+            Thinker computerThinker = Simulator.newThinker(game, strategies.get(computer), random.split());
+            Thinker playerThinker = Simulator.newThinker(game, strategies.get(player), random.split());
+            Referee referee = new Referee();
+            Reporter reporter = new Reporter(game.getValidMoves());
+
+            stoppedEarly = !Simulator.playRounds(computerThinker, playerThinker, referee, gameKeeper, reporter,
+                    numberOfRounds);
+            setResult(reporter.getComputerWins(), reporter.getPlayerWins(), reporter.getDraws());
+        }
+
+        /**
+         * Stores the results of the match.
+         *
+         * @param computerWins The number of rounds won by the computer's side.
+         * @param playerWins The number of rounds won by the friend's side.
+         * @param draws The number of draws.
+         */
+        void setResult(long computerWins, long playerWins, long draws) {
+            this.computerWins = computerWins;
+            this.playerWins = playerWins;
+            this.draws = draws;
+            this.played = true;
+        }
+
+        /**
+         * Checks whether the match has been played or resumed.
+         *
+         * @return {@code true} if the match has results.
+         */
+        boolean isPlayed() {
+            return played;
+        }
+    }
+}
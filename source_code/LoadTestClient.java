@@ -0,0 +1,217 @@
+package assignmentone;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.random.RandomGenerator;
+
+/**
+ * Opens many concurrent sessions against a GameServer and plays random moves in all of them.
+ * Like the server, the client drives every connection from a single Selector thread, so one process
+ * can hold thousands of sessions. It prints how many sessions finished and the rounds played per second.
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 1.0
+ */
+public class LoadTestClient {
+
+    private final String gameType;
+    private final int numberOfRounds;
+    private final RandomGenerator random;
+    private long roundsPlayed;
+    private int sessionsFinished;
+    private int sessionsFailed;
+
+    /**
+     * Constructs a LoadTestClient.
+     *
+     * @param gameType The game type every session plays.
+     * @param numberOfRounds The number of rounds of every session.
+     * @param seed The seed of the random moves.
+     */
+    public LoadTestClient(String gameType, int numberOfRounds, long seed) {
+        this.gameType = gameType;
+        this.numberOfRounds = numberOfRounds;
+        this.random = Thinker.newRandom(seed);
+    }
+
+    /**
+     * The entry point for load tests.
+     * Expects the number of sessions, the number of rounds per session and optionally the game type,
+     * host and port, e.g. {@code 10000 100 rpsfw localhost 5555}.
+     *
+     * @param args Command line arguments as described above.
+     * @throws IOException If the sessions cannot be driven.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: LoadTestClient <sessions> <roundsPerSession> [gameType] [host] [port]");
+            return;
+        }
+        int sessions = Integer.parseInt(args[0]);
+        int rounds = Integer.parseInt(args[1]);
+        String gameType = args.length > 2 ? args[2] : "rps";
+        String host = args.length > 3 ? args[3] : "localhost";
+        int port = args.length > 4 ? Integer.parseInt(args[4]) : GameServer.DEFAULT_PORT;
+
+        LoadTestClient client = new LoadTestClient(gameType, rounds, System.nanoTime());
+        long start = System.nanoTime();
+        client.run(new InetSocketAddress(host, port), sessions);
+        long elapsed = System.nanoTime() - start;
+
+        System.out.println("Sessions: " + client.sessionsFinished + " finished, " + client.sessionsFailed + " failed");
+        System.out.println(Simulator.formatThroughput(client.roundsPlayed, elapsed));
+    }
+
+    /**
+     * Opens the given number of sessions and plays them until every one is finished or has failed.
+     *
+     * @param server The address of the server.
+     * @param sessions The number of concurrent sessions.
+     * @throws IOException If the selector fails.
+     */
+    public void run(InetSocketAddress server, int sessions) throws IOException {
+        try (Selector selector = Selector.open()) {
+            for (int i = 0; i < sessions; i++) {
+                SocketChannel channel = SocketChannel.open();
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                channel.connect(server);
+                channel.register(selector, SelectionKey.OP_CONNECT, new ClientSession());
+            }
+
+            int open = sessions;
+            while (open > 0) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    try {
+                        if (key.isConnectable()) {
+                            ((SocketChannel) key.channel()).finishConnect();
+                            key.interestOps(SelectionKey.OP_READ);
+                        } else if (key.isReadable() && !read(key)) {
+                            key.channel().close();
+                            open--;
+                        }
+                    } catch (IOException e) {
+                        sessionsFailed++;
+                        key.channel().close();
+                        open--;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Retrieves the number of rounds played in every session, draws included.
+     *
+     * @return The number of rounds played.
+     */
+    public long getRoundsPlayed() {
+        return roundsPlayed;
+    }
+
+    /**
+     * Helper method: Reads from a session and answers every complete line.
+     *
+     * @param key The key of the session's connection.
+     * @return {@code false} once the session is over.
+     * @throws IOException If the connection fails.
+     */
+    private boolean read(SelectionKey key) throws IOException {
+        ClientSession session = (ClientSession) key.attachment();
+        SocketChannel channel = (SocketChannel) key.channel();
+        ByteBuffer input = session.input;
+        if (channel.read(input) < 0) {
+            sessionsFailed++;
+            return false;
+        }
+
+        input.flip();
+        int lineStart = 0;
+        for (int i = 0; i < input.limit(); i++) {
+            if (input.get(i) != '\n') {
+                continue;
+            }
+            byte[] bytes = new byte[i - lineStart];
+            input.get(lineStart, bytes);
+            lineStart = i + 1;
+
+            String reply = answer(session, new String(bytes, StandardCharsets.US_ASCII));
+            if (reply == null) {
+                return false;
+            }
+            if (!reply.isEmpty()) {
+                ByteBuffer output = ByteBuffer.wrap(reply.getBytes(StandardCharsets.US_ASCII));
+                while (output.hasRemaining()) {
+                    channel.write(output);
+                }
+            }
+        }
+        input.position(lineStart);
+        input.compact();
+        return true;
+    }
+
+    /**
+     * Helper method: Works out the client's answer to one line from the server.
+     *
+     * @param session The session the line belongs to.
+     * @param line The line, without its line break.
+     * @return The answer to send, an empty string for none, or null once the session is over.
+     * @throws IOException If the server reports an error.
+     */
+    private String answer(ClientSession session, String line) throws IOException {
+        if (session.reportLines > 0) {
+            session.reportLines--;
+            return "";
+        }
+        if (line.startsWith("WELCOME")) {
+            return "GAME " + gameType + "\n";
+        } else if (line.startsWith("MOVES ")) {
+            session.moves = line.substring("MOVES ".length()).split(",");
+            return "ROUNDS " + numberOfRounds + "\n";
+        } else if (line.startsWith("READY")) {
+            return nextMove(session);
+        } else if (line.startsWith("RESULT")) {
+            roundsPlayed++;
+            return line.endsWith(" " + numberOfRounds + "/" + numberOfRounds) ? "" : nextMove(session);
+        } else if (line.startsWith("REPORT ")) {
+            session.reportLines = Integer.parseInt(line.substring("REPORT ".length()));
+            return "";
+        } else if (line.equals("BYE")) {
+            sessionsFinished++;
+            return null;
+        }
+        throw new IOException("Server replied: " + line);
+    }
+
+    /**
+     * Helper method: Picks a random move for a session.
+     *
+     * @param session The session to move in.
+     * @return The move command.
+     */
+    private String nextMove(ClientSession session) {
+        return "MOVE " + session.moves[random.nextInt(session.moves.length)] + "\n";
+    }
+
+    /**
+     * The state of one session on the client side.
+     */
+    private static class ClientSession {
+
+        private final ByteBuffer input = ByteBuffer.allocate(GameServer.MAX_LINE_LENGTH * 4);
+        private String[] moves;
+        private int reportLines;
+    }
+}
@@ -0,0 +1,117 @@
+package assignmentone;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Predicts the opponent's next move from their last {@code order} moves, using an order-k Markov chain.
+ * The context is kept as a rolling base-N number of the last k moves, and each context owns a row of
+ * counts plus its current most likely move, so observing and predicting take constant time.
+ * When there are more contexts than fit in the count table, contexts are hashed onto its rows.
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 2.0
+ */
+public class MarkovStrategy extends PredictiveStrategy {
+
+    private final int order;
+    private final long contextModulus;
+    private final int rowBits;
+    private final boolean hashed;
+    private final int[] counts;
+    private final int[] likeliest;
+    private long context;
+    private int history;
+
+    /**
+     * Constructs a MarkovStrategy for the given game.
+     *
+     * @param analysis The analysis of the game's rules.
+     * @param order The number of past opponent moves used as context; at least 1.
+     * @throws IllegalArgumentException If the order is below 1 or too large for the game.
+     */
+    public MarkovStrategy(GameAnalysis analysis, int order) {
+        super(analysis);
+        if (order < 1) {
+            throw new IllegalArgumentException("A Markov strategy needs an order of at least 1.");
+        }
+        this.order = order;
+
+        long modulus = 1;
+        try {
+            for (int i = 0; i < order; i++) {
+                modulus = Math.multiplyExact(modulus, size);
+            }
+            Math.multiplyExact(modulus, size); // The rolling update multiplies the context by size.
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("An order of " + order + " is too large for " + size + " moves.");
+        }
+        this.contextModulus = modulus;
+
+        this.hashed = modulus * size > MAX_TABLE_CELLS;
+        int rows = hashed ? tableRows(modulus, size) : (int) modulus;
+        this.rowBits = Integer.numberOfTrailingZeros(rows);
+        this.counts = new int[rows * size];
+        this.likeliest = new int[rows];
+        Arrays.fill(likeliest, -1);
+    }
+
+    @Override
+    public void observe(int ownMove, int opponentMove) {
+        if (history >= order) {
+            int row = row();
+            int cell = row * size + opponentMove;
+            int count = ++counts[cell];
+            int best = likeliest[row];
+            if (best < 0 || count > counts[row * size + best]) {
+                likeliest[row] = opponentMove;
+            }
+        } else {
+            history++;
+        }
+        context = (context * size + opponentMove) % contextModulus;
+    }
+
+    @Override
+    protected int predict() {
+        if (history < order) {
+            return -1;
+        }
+        return likeliest[row()];
+    }
+
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeLong(context);
+        out.writeInt(history);
+        writeSparse(out, counts, 0);
+        writeSparse(out, likeliest, -1);
+    }
+
+    @Override
+    public void readState(DataInput in) throws IOException {
+        context = in.readLong();
+        history = in.readInt();
+        if (context < 0 || context >= contextModulus || history < 0 || history > order) {
+            throw new IOException("The saved state does not fit the strategy.");
+        }
+        readSparse(in, counts);
+        readSparse(in, likeliest);
+    }
+
+    @Override
+    public String getName() {
+        return "markov" + order;
+    }
+
+    /**
+     * Helper method: Maps the current context to its row of the count table.
+     *
+     * @return The row index.
+     */
+    private int row() {
+        return hashed ? mixToRow(context, rowBits) : (int) context;
+    }
+}
@@ -0,0 +1,76 @@
+package assignmentone;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+
+/**
+ * Reads input from a list of lines held in memory and collects all output in a buffer.
+ * It is used for scripted sessions and replays, where no console is involved.
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 1.0
+ */
+public class MemoryIO implements GameIO {
+
+    private final Deque<String> input;
+    private final StringBuilder output = new StringBuilder();
+
+    /**
+     * Constructs a MemoryIO with the given input lines.
+     *
+     * @param lines The lines returned by {@link #readLine()}, in order.
+     */
+    public MemoryIO(Collection<String> lines) {
+        this.input = new ArrayDeque<>(lines);
+    }
+
+    /**
+     * Constructs a MemoryIO with the given input lines.
+     *
+     * @param lines The lines returned by {@link #readLine()}, in order.
+     */
+    public MemoryIO(String... lines) {
+        this(Arrays.asList(lines));
+    }
+
+    /**
+     * Adds lines to the end of the input.
+     *
+     * @param lines The lines to add.
+     */
+    public void addInput(String... lines) {
+        input.addAll(Arrays.asList(lines));
+    }
+
+    /**
+     * Retrieves everything written so far.
+     *
+     * @return The output.
+     */
+    public String getOutput() {
+        return output.toString();
+    }
+
+    /**
+     * Discards everything written so far.
+     */
+    public void clearOutput() {
+        output.setLength(0);
+    }
+
+    @Override
+    public String readLine() {
+        return input.poll();
+    }
+
+    @Override
+    public void print(String text) {
+        output.append(text);
+    }
+
+    @Override
+    public void flush() {
+    }
+}
@@ -0,0 +1,239 @@
+package assignmentone;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Collects live metrics of the round loop: throws, outcomes and draws, active sessions, the decision
+ * latency of every strategy and how often every move is picked.
+ * Counters are LongAdders and latencies go into LatencyHistograms, so recording never blocks other threads.
+ *
+ * <p>Metrics are off unless the program is started with {@code -Drps.metrics=true}. The switch is a
+ * constant, so when it is off the JIT removes the instrumentation from the round loop altogether.
+ * When it is on, the metrics are published over JMX and, every {@code rps.metrics.interval} seconds
+ * (10 by default, 0 for never), dumped to standard error.</p>
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 1.0
+ */
+public final class Metrics implements MetricsMXBean {
+
+    public static final boolean ENABLED = Boolean.getBoolean("rps.metrics");
+    public static final String OBJECT_NAME = "assignmentone:type=Metrics";
+
+    private static final Metrics INSTANCE = new Metrics();
+
+    private final long startNanos = System.nanoTime();
+    private final LongAdder throwsRefereed = new LongAdder();
+    private final LongAdder computerWins = new LongAdder();
+    private final LongAdder playerWins = new LongAdder();
+    private final LongAdder draws = new LongAdder();
+    private final LongAdder activeSessions = new LongAdder();
+    private final Map<String, LatencyHistogram> decisionLatencies = new ConcurrentHashMap<>();
+    private final Map<String, MovePicks> movePicks = new ConcurrentHashMap<>();
+
+    static {
+        if (ENABLED) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+            } catch (JMException e) {
+                System.err.println("ERROR: Metrics could not be published over JMX: " + e.getMessage());
+            }
+            long interval = Long.getLong("rps.metrics.interval", 10);
+            if (interval > 0) {
+                Thread dumper = new Thread(() -> INSTANCE.dumpEvery(interval * 1000), "metrics-dump");
+                dumper.setDaemon(true);
+                dumper.start();
+            }
+        }
+    }
+
+    /**
+     * Helper constructor: Metrics is a singleton, reached through {@link #get()}.
+     */
+    private Metrics() {
+    }
+
+    /**
+     * Retrieves the metrics of this program.
+     *
+     * @return The metrics.
+     */
+    public static Metrics get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Counts one refereed throw.
+     *
+     * @param outcome The outcome of the throw (+1 for a computer win, -1 for a computer loss, 0 for a draw).
+     */
+    public void recordThrow(int outcome) {
+        throwsRefereed.increment();
+        if (outcome > 0) {
+            computerWins.increment();
+        } else if (outcome < 0) {
+            playerWins.increment();
+        } else {
+            draws.increment();
+        }
+    }
+
+    /**
+     * Counts a session whose rounds start being played.
+     */
+    public void sessionStarted() {
+        activeSessions.increment();
+    }
+
+    /**
+     * Counts a session whose rounds are over.
+     */
+    public void sessionEnded() {
+        activeSessions.decrement();
+    }
+
+    /**
+     * Retrieves the histogram of a strategy's decision latencies, creating it on first use.
+     *
+     * @param strategyName The name of the strategy.
+     * @return The strategy's histogram.
+     */
+    public LatencyHistogram decisionLatency(String strategyName) {
+        return decisionLatencies.computeIfAbsent(strategyName, name -> new LatencyHistogram());
+    }
+
+    /**
+     * Retrieves the pick counters of a game's moves, shared by every session of the game.
+     *
+     * @param gameName The name of the game.
+     * @param validMoves The list of valid moves of the game.
+     * @return The move pick counters.
+     */
+    public MovePicks movePicks(String gameName, List<String> validMoves) {
+        return movePicks.computeIfAbsent(gameName, name -> new MovePicks(List.copyOf(validMoves)));
+    }
+
+    @Override
+    public long getThrows() {
+        return throwsRefereed.sum();
+    }
+
+    @Override
+    public double getThrowsPerSecond() {
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        return seconds > 0 ? throwsRefereed.sum() / seconds : 0;
+    }
+
+    @Override
+    public double getDrawRatio() {
+        long total = throwsRefereed.sum();
+        return total == 0 ? 0 : (double) draws.sum() / total;
+    }
+
+    @Override
+    public long getActiveSessions() {
+        return activeSessions.sum();
+    }
+
+    @Override
+    public Map<String, Double> getMeanDecisionNanos() {
+        Map<String, Double> means = new TreeMap<>();
+        decisionLatencies.forEach((name, histogram) -> means.put(name, histogram.getMean()));
+        return means;
+    }
+
+    @Override
+    public Map<String, Long> getP99DecisionNanos() {
+        Map<String, Long> percentiles = new TreeMap<>();
+        decisionLatencies.forEach((name, histogram) -> percentiles.put(name, histogram.getPercentile(99)));
+        return percentiles;
+    }
+
+    @Override
+    public Map<String, Long> getMovePicks() {
+        Map<String, Long> picks = new TreeMap<>();
+        movePicks.forEach((gameName, counters) -> {
+            for (int i = 0; i < counters.validMoves.size(); i++) {
+                picks.put(gameName + "/" + counters.validMoves.get(i), counters.counts[i].sum());
+            }
+        });
+        return picks;
+    }
+
+    @Override
+    public String getDump() {
+        StringBuilder dump = new StringBuilder();
+        dump.append(String.format("### METRICS ### throws=%d (%.0f/sec) computer=%d friend=%d draws=%d (%.2f%%) sessions=%d\n",
+                getThrows(), getThrowsPerSecond(), computerWins.sum(), playerWins.sum(), draws.sum(),
+                100 * getDrawRatio(), getActiveSessions()));
+        new TreeMap<>(decisionLatencies).forEach((name, histogram) ->
+                dump.append("  decision[").append(name).append("] ").append(histogram.summarize()).append("\n"));
+        getMovePicks().forEach((move, count) ->
+                dump.append("  picks[").append(move).append("] ").append(count).append("\n"));
+        return dump.toString();
+    }
+
+    /**
+     * Helper method: The dump thread's loop, which prints the metrics at a fixed interval.
+     *
+     * @param intervalMillis The time between dumps in milliseconds.
+     */
+    private void dumpEvery(long intervalMillis) {
+        while (true) {
+            try {
+                Thread.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            System.err.print(getDump());
+        }
+    }
+
+    /**
+     * Counts how often each move of one game is picked, by either side.
+     */
+    public static final class MovePicks {
+
+        private final List<String> validMoves;
+        private final LongAdder[] counts;
+
+        /**
+         * Helper constructor: Creates a counter per move.
+         *
+         * @param validMoves The list of valid moves of the game.
+         */
+        private MovePicks(List<String> validMoves) {
+            this.validMoves = validMoves;
+            this.counts = new LongAdder[validMoves.size()];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * Counts one pick of a move.
+         *
+         * @param index The index of the move.
+         */
+        public void record(int index) {
+            counts[index].increment();
+        }
+
+        /**
+         * Retrieves how often a move was picked.
+         *
+         * @param index The index of the move.
+         * @return The number of picks.
+         */
+        public long getCount(int index) {
+            return counts[index].sum();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package assignmentone;
+
+import java.util.Map;
+
+/**
+ * The management interface through which Metrics are published over JMX,
+ * under the name {@value Metrics#OBJECT_NAME}.
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 1.0
+ */
+public interface MetricsMXBean {
+
+    /**
+     * Retrieves the number of throws refereed, including draws.
+     *
+     * @return The number of throws.
+     */
+    long getThrows();
+
+    /**
+     * Retrieves the average number of throws refereed per second since metrics started.
+     *
+     * @return The throws per second.
+     */
+    double getThrowsPerSecond();
+
+    /**
+     * Retrieves the share of throws that were draws.
+     *
+     * @return The draw ratio, between 0 and 1.
+     */
+    double getDrawRatio();
+
+    /**
+     * Retrieves the number of sessions whose rounds are being played.
+     *
+     * @return The number of active sessions.
+     */
+    long getActiveSessions();
+
+    /**
+     * Retrieves the mean decision latency of every strategy.
+     *
+     * @return The mean latency in nanoseconds by strategy name.
+     */
+    Map<String, Double> getMeanDecisionNanos();
+
+    /**
+     * Retrieves the 99th percentile decision latency of every strategy.
+     *
+     * @return The 99th percentile latency in nanoseconds by strategy name.
+     */
+    Map<String, Long> getP99DecisionNanos();
+
+    /**
+     * Retrieves how often every move has been picked by either side.
+     *
+     * @return The number of picks by game and move, e.g. {@code rpsfw/r}.
+     */
+    Map<String, Long> getMovePicks();
+
+    /**
+     * Retrieves the full text dump of the metrics.
+     *
+     * @return The dump, as printed periodically.
+     */
+    String getDump();
+}
@@ -0,0 +1,114 @@
+package assignmentone;
+
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Samples move indices from a fixed weight distribution in constant time.
+ * The weights are compiled once into an alias table (Vose's method), so every sample costs
+ * one bounded random int and one random double regardless of how many moves the game has.
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 1.0
+ */
+public class MoveSampler {
+
+    private final double[] probability;
+    private final int[] alias;
+
+    /**
+     * Constructs a MoveSampler for the given weights, indexed by move.
+     *
+     * @param weights The non-negative weight of each move; at least one must be positive.
+     */
+    public MoveSampler(double[] weights) {
+        int size = weights.length;
+        double totalWeight = 0;
+        for (double weight : weights) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("Move weights must not be negative.");
+            }
+            totalWeight += weight;
+        }
+        if (size == 0 || totalWeight <= 0) {
+            throw new IllegalArgumentException("At least one move must have a positive weight.");
+        }
+
+        probability = new double[size];
+        alias = new int[size];
+
+        double[] scaled = new double[size];
+        int[] small = new int[size];
+        int[] large = new int[size];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < size; i++) {
+            scaled[i] = weights[i] * size / totalWeight;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        while (largeCount > 0) {
+            int more = large[--largeCount];
+            probability[more] = 1.0;
+            alias[more] = more;
+        }
+        while (smallCount > 0) {
+            int less = small[--smallCount]; // Only left over through rounding errors.
+            probability[less] = 1.0;
+            alias[less] = less;
+        }
+    }
+
+    /**
+     * Compiles a map of move weights into a sampler, following the order of the valid moves.
+     * Moves missing from the map get a weight of zero.
+     *
+     * @param validMoves The list containing valid moves for the game.
+     * @param weights The map of move names to their respective weights.
+     * @return The compiled MoveSampler.
+     */
+    public static MoveSampler forWeights(List<String> validMoves, Map<String, Integer> weights) {
+        double[] ordered = new double[validMoves.size()];
+        for (int i = 0; i < ordered.length; i++) {
+            ordered[i] = weights.getOrDefault(validMoves.get(i), 0);
+        }
+        return new MoveSampler(ordered);
+    }
+
+    /**
+     * Draws a move index from the weight distribution.
+     *
+     * @param random The random generator to draw from.
+     * @return The sampled move index.
+     */
+    public int sample(RandomGenerator random) {
+        int column = random.nextInt(probability.length);
+        return random.nextDouble() < probability[column] ? column : alias[column];
+    }
+
+    /**
+     * Retrieves the number of moves this sampler draws from.
+     *
+     * @return The number of moves.
+     */
+    public int size() {
+        return probability.length;
+    }
+}
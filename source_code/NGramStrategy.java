@@ -0,0 +1,147 @@
+package assignmentone;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Predicts the opponent's next move with an n-gram model over the joint history of both players' moves.
+ * The model keeps one count table for every context length from 1 to n - 1, and predicts from the
+ * longest context that has been seen before, backing off to shorter ones. Each table has one row per
+ * context while the contexts fit, and hashes them onto its rows otherwise. Observing and predicting
+ * cost O(n) and do not allocate.
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 4.0
+ */
+public class NGramStrategy extends PredictiveStrategy {
+
+    private static final int MAX_ROWS = 1 << 16;
+
+    private final int n;
+    private final boolean[] hashed;
+    private final int[] rowBits;
+    private final int[][] counts;
+    private final int[][] likeliest;
+    private final int[] recent;
+    private final int[] rows;
+    private int history;
+    private int position;
+
+    /**
+     * Constructs an NGramStrategy for the given game.
+     *
+     * @param analysis The analysis of the game's rules.
+     * @param n The length of the n-grams, including the predicted move; at least 2.
+     * @throws IllegalArgumentException If n is below 2.
+     */
+    public NGramStrategy(GameAnalysis analysis, int n) {
+        super(analysis);
+        if (n < 2) {
+            throw new IllegalArgumentException("An n-gram strategy needs n of at least 2.");
+        }
+        this.n = n;
+        this.hashed = new boolean[n - 1];
+        this.rowBits = new int[n - 1];
+        this.counts = new int[n - 1][];
+        this.likeliest = new int[n - 1][];
+        long contexts = 1;
+        for (int length = 1; length < n; length++) {
+            contexts = contexts > MAX_ROWS ? contexts : contexts * size * size;
+            boolean hashedTable = contexts > MAX_ROWS || contexts * size > MAX_TABLE_CELLS;
+            int tableRows = hashedTable ? tableRows(Math.min(contexts, MAX_ROWS), size) : (int) contexts;
+            hashed[length - 1] = hashedTable;
+            rowBits[length - 1] = Integer.numberOfTrailingZeros(tableRows);
+            counts[length - 1] = new int[tableRows * size];
+            likeliest[length - 1] = new int[tableRows];
+            Arrays.fill(likeliest[length - 1], -1);
+        }
+        this.recent = new int[n - 1];
+        this.rows = new int[n - 1];
+    }
+
+    @Override
+    public void observe(int ownMove, int opponentMove) {
+        computeRows();
+        for (int length = 1; length <= history; length++) {
+            int row = rows[length - 1];
+            int[] table = counts[length - 1];
+            int count = ++table[row * size + opponentMove];
+            int best = likeliest[length - 1][row];
+            if (best < 0 || count > table[row * size + best]) {
+                likeliest[length - 1][row] = opponentMove;
+            }
+        }
+
+        recent[position] = ownMove * size + opponentMove;
+        position = position + 1 < n - 1 ? position + 1 : 0;
+        if (history < n - 1) {
+            history++;
+        }
+    }
+
+    @Override
+    protected int predict() {
+        computeRows();
+        for (int length = history; length >= 1; length--) {
+            int predicted = likeliest[length - 1][rows[length - 1]];
+            if (predicted >= 0) {
+                return predicted;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(history);
+        for (int i = 0; i < recent.length; i++) {
+            out.writeInt(recent[(position + i) % recent.length]);
+        }
+        for (int length = 1; length < n; length++) {
+            writeSparse(out, counts[length - 1], 0);
+            writeSparse(out, likeliest[length - 1], -1);
+        }
+    }
+
+    @Override
+    public void readState(DataInput in) throws IOException {
+        history = in.readInt();
+        if (history < 0 || history > n - 1) {
+            throw new IOException("The saved state does not fit the strategy.");
+        }
+        for (int i = 0; i < recent.length; i++) {
+            recent[i] = in.readInt();
+            if (recent[i] < 0 || recent[i] >= size * size) {
+                throw new IOException("The saved state does not fit the strategy.");
+            }
+        }
+        position = 0;
+        for (int length = 1; length < n; length++) {
+            readSparse(in, counts[length - 1]);
+            readSparse(in, likeliest[length - 1]);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "ngram" + n;
+    }
+
+    /**
+     * Helper method: Maps the most recent joint moves to a row for every context length.
+     * The context of each length extends the context of the previous one by one more move back in time,
+     * both as a base-N&sup2; number for tables with a row per context and as a hash for hashed tables.
+     */
+    private void computeRows() {
+        long hash = 0;
+        long context = 0;
+        for (int length = 1; length <= history; length++) {
+            int symbol = recent[(position - length + n - 1) % (n - 1)];
+            hash = hash * 0x100000001B3L + symbol + 1;
+            context = context * size * size + symbol;
+            rows[length - 1] = hashed[length - 1] ? mixToRow(hash, rowBits[length - 1]) : (int) context;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package assignmentone;
+
+import java.util.Arrays;
+
+/**
+ * Stores a game's rules with 2 bits per cell, packed 32 cells to a {@code long}.
+ * Each cell holds the outcome plus one (0, 1 or 2), and every row starts on a new word, so a lookup
+ * is a shift and a mask without any branches. A game with 1000 moves takes about 250 KB instead of 4 MB.
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 2.0
+ */
+public class PackedRules implements RulesMatrix {
+
+    private static final int CELLS_PER_WORD = 32;
+    private static final long DRAWS = 0x5555555555555555L; // Every cell set to 1, i.e. an outcome of 0.
+
+    private final int size;
+    private final int wordsPerRow;
+    private final long[] words;
+
+    /**
+     * Constructs an empty PackedRules where every pair of moves is a draw.
+     *
+     * @param size The number of moves.
+     */
+    public PackedRules(int size) {
+        this.size = size;
+        this.wordsPerRow = (size + CELLS_PER_WORD - 1) / CELLS_PER_WORD;
+        this.words = new long[size * wordsPerRow];
+        Arrays.fill(words, DRAWS);
+    }
+
+    /**
+     * Constructs a PackedRules copy of the given matrix.
+     *
+     * @param matrix The matrix that holds the game's rules.
+     */
+    public PackedRules(int[][] matrix) {
+        this(matrix.length);
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                setOutcome(i, j, matrix[i][j]);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int getOutcome(int computerIndex, int playerIndex) {
+        long word = words[computerIndex * wordsPerRow + (playerIndex >>> 5)];
+        return (int) ((word >>> ((playerIndex & 31) << 1)) & 3) - 1;
+    }
+
+    /**
+     * Sets the outcome of a pair of moves.
+     * Only meant for filling in the rules before the game is shared.
+     *
+     * @param computerIndex The index of the move chosen by the computer.
+     * @param playerIndex The index of the move chosen by the player.
+     * @param outcome The outcome value: +1 for computer win, -1 for computer loss, and 0 for a draw.
+     */
+    public void setOutcome(int computerIndex, int playerIndex, int outcome) {
+        int index = computerIndex * wordsPerRow + (playerIndex >>> 5);
+        int shift = (playerIndex & 31) << 1;
+        words[index] = (words[index] & ~(3L << shift)) | ((long) (outcome + 1) << shift);
+    }
+
+    @Override
+    public void getRowBits(int row, int word, long[] bits) {
+        int index = row * wordsPerRow + 2 * word;
+        long low = words[index];
+        long high = index + 1 < (row + 1) * wordsPerRow ? words[index + 1] : DRAWS;
+        bits[0] = evenBits(low >>> 1) | evenBits(high >>> 1) << 32;
+        bits[1] = evenBits(~(low | low >>> 1)) | evenBits(~(high | high >>> 1)) << 32;
+    }
+
+    /**
+     * Helper method: Gathers the even bits of a word, bit 2c becoming bit c, as a cell's high or low bit.
+     *
+     * @param x The word.
+     * @return The 32 even bits in the low half of the result.
+     */
+    private static long evenBits(long x) {
+        x &= 0x5555555555555555L;
+        x = (x | (x >>> 1)) & 0x3333333333333333L;
+        x = (x | (x >>> 2)) & 0x0F0F0F0F0F0F0F0FL;
+        x = (x | (x >>> 4)) & 0x00FF00FF00FF00FFL;
+        x = (x | (x >>> 8)) & 0x0000FFFF0000FFFFL;
+        return (x | (x >>> 16)) & 0x00000000FFFFFFFFL;
+    }
+}
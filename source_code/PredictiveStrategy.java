@@ -0,0 +1,135 @@
+package assignmentone;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.random.RandomGenerator;
+
+/**
+ * Base class for strategies that predict the opponent's next move and play the move that beats it.
+ * The counter to every move comes from the game's shared GameAnalysis, so choosing a move costs a prediction
+ * plus an array lookup. Until there is enough history to predict from, moves are played uniformly at random.
+ * Count tables are mostly empty, so their state is saved sparsely, as the index and value of every used entry.
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 2.0
+ */
+public abstract class PredictiveStrategy implements Strategy {
+
+    /**
+     * The largest number of counters a single count table may hold, to keep huge games in memory.
+     */
+    protected static final int MAX_TABLE_CELLS = 1 << 22;
+
+    protected final int size;
+    private final GameAnalysis analysis;
+
+    /**
+     * Constructs a PredictiveStrategy for the given game.
+     *
+     * @param analysis The analysis of the game's rules.
+     */
+    protected PredictiveStrategy(GameAnalysis analysis) {
+        this.size = analysis.size();
+        this.analysis = analysis;
+    }
+
+    /**
+     * Predicts the opponent's next move.
+     *
+     * @return The index of the predicted move, or -1 if there is no prediction yet.
+     */
+    protected abstract int predict();
+
+    @Override
+    public int nextMove(RandomGenerator random) {
+        int predicted = predict();
+        if (predicted < 0) {
+            return random.nextInt(size);
+        }
+        return analysis.getCounter(predicted);
+    }
+
+    /**
+     * Retrieves the move played against a predicted move.
+     *
+     * @param opponentMove The index of the predicted move.
+     * @return The index of the move that beats it, or draws with it if nothing beats it.
+     */
+    public int getCounter(int opponentMove) {
+        return analysis.getCounter(opponentMove);
+    }
+
+    /**
+     * Helper method: Picks the number of rows of a count table so it stays within {@link #MAX_TABLE_CELLS}.
+     *
+     * @param wantedRows The number of rows the strategy would like.
+     * @param size The number of moves in the game.
+     * @return A power of two no larger than the wanted rows.
+     */
+    protected static int tableRows(long wantedRows, int size) {
+        long limit = Math.max(1, MAX_TABLE_CELLS / size);
+        long rows = Math.max(1, Math.min(wantedRows, limit));
+        return Integer.highestOneBit((int) rows);
+    }
+
+    /**
+     * Helper method: Mixes a context hash into a row index of a count table.
+     *
+     * @param hash The context hash.
+     * @param rowBits The number of bits of the row index.
+     * @return The row index.
+     */
+    protected static int mixToRow(long hash, int rowBits) {
+        if (rowBits == 0) {
+            return 0;
+        }
+        return (int) ((hash * 0x9E3779B97F4A7C15L) >>> (64 - rowBits));
+    }
+
+    /**
+     * Helper method: Writes the entries of a table that differ from its empty value.
+     *
+     * @param out The output to write to.
+     * @param table The table to write.
+     * @param empty The value of an unused entry.
+     * @throws IOException If the output cannot be written.
+     */
+    protected static void writeSparse(DataOutput out, int[] table, int empty) throws IOException {
+        int used = 0;
+        for (int value : table) {
+            if (value != empty) {
+                used++;
+            }
+        }
+        out.writeInt(used);
+        for (int i = 0; i < table.length; i++) {
+            if (table[i] != empty) {
+                out.writeInt(i);
+                out.writeInt(table[i]);
+            }
+        }
+    }
+
+    /**
+     * Helper method: Reads the entries of a table written by {@link #writeSparse(DataOutput, int[], int)}.
+     * Every other entry keeps its current value, which must be the empty value.
+     *
+     * @param in The input to read from.
+     * @param table The table to fill.
+     * @throws IOException If the input cannot be read or does not fit the table.
+     */
+    protected static void readSparse(DataInput in, int[] table) throws IOException {
+        int used = in.readInt();
+        if (used < 0 || used > table.length) {
+            throw new IOException("The saved table does not fit the strategy.");
+        }
+        for (int k = 0; k < used; k++) {
+            int i = in.readInt();
+            if (i < 0 || i >= table.length) {
+                throw new IOException("The saved table does not fit the strategy.");
+            }
+            table[i] = in.readInt();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package assignmentone;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Plays moves at random, either uniformly or following a fixed set of move weights.
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 1.0
+ */
+public class RandomStrategy implements Strategy {
+
+    private final int size;
+    private final MoveSampler sampler;
+    private final String name;
+
+    /**
+     * Constructs a RandomStrategy.
+     *
+     * @param size The number of moves in the game.
+     * @param sampler The compiled move weights, or null for uniform play.
+     */
+    public RandomStrategy(int size, MoveSampler sampler) {
+        this(size, sampler, sampler == null ? "random" : "weighted");
+    }
+
+    /**
+     * Constructs a RandomStrategy with an explicit name.
+     *
+     * @param size The number of moves in the game.
+     * @param sampler The compiled move weights, or null for uniform play.
+     * @param name The name of the strategy.
+     */
+    public RandomStrategy(int size, MoveSampler sampler, String name) {
+        this.size = size;
+        this.sampler = sampler;
+        this.name = name;
+    }
+
+    @Override
+    public int nextMove(RandomGenerator random) {
+        if (sampler == null) {
+            return random.nextInt(size);
+        }
+        return sampler.sample(random);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+}
@@ -1,18 +1,38 @@
 package assignmentone;
 
-import java.util.Arrays;
-import java.util.List;
-
 /**
  * Determines the round's winner based on the game rules.
  * This class works in collaboration with the GameKeeper to fetch the outcome of a round and 
  * then communicates with the Reporter to record the result.
+ * The outcome is returned as a plain int; the message describing it is only built on request.
+ * If a RoundLog is attached, every round is also appended to it.
  * 
  * @author Nikola Desnica (UNI: ndd2131)
- * @version 3.0
+ * @version 6.0
  */
 public class Referee {
 
+    public static final int COMPUTER_WIN = 1;
+    public static final int PLAYER_WIN = -1;
+    public static final int DRAW = 0;
+
+    private RoundLog roundLog;
+
+    /**
+     * Constructs a Referee that does not log rounds.
+     */
+    public Referee() {
+    }
+
+    /**
+     * Constructs a Referee that appends every round it decides to the given log.
+     *
+     * @param roundLog The log of the session, or null to skip logging.
+     */
+    public Referee(RoundLog roundLog) {
+        this.roundLog = roundLog;
+    }
+
     /**
      * Determines the winner of a round based on the player's and computer's moves.
      * 
@@ -20,27 +40,57 @@ public class Referee {
      * @param computerMove The move chosen by the computer.
      * @param gameKeeper The GameKeeper instance which holds the game rules and validations.
      * @param reporter The Reporter instance to update with the round's outcome.
-     * @return A string message indicating the result of the round.
+     * @return The outcome of the round: COMPUTER_WIN, PLAYER_WIN or DRAW.
      */
-    public List<String> determineWinner(String playerMove, String computerMove, GameKeeper gameKeeper, Reporter reporter) {
-        int outcome = gameKeeper.getOutcome(computerMove, playerMove);
+    public int determineWinner(String playerMove, String computerMove, GameKeeper gameKeeper, Reporter reporter) {
+        int playerIndex = gameKeeper.indexOf(playerMove);
+        int computerIndex = gameKeeper.indexOf(computerMove);
 
-        reporter.updateResultsMatrix(computerMove, playerMove, outcome);
+        if (playerIndex == -1 || computerIndex == -1) {
+            return DRAW;
+        }
+        return determineWinner(playerIndex, computerIndex, gameKeeper, reporter);
+    }
 
-        String message;
-        String isDraw;
+    /**
+     * Determines the winner of a round based on the indices of the player's and computer's moves.
+     *
+     * @param playerIndex The index of the move chosen by the player.
+     * @param computerIndex The index of the move chosen by the computer.
+     * @param gameKeeper The GameKeeper instance which holds the game rules and validations.
+     * @param reporter The Reporter instance to update with the round's outcome.
+     * @return The outcome of the round: COMPUTER_WIN, PLAYER_WIN or DRAW.
+     */
+    public int determineWinner(int playerIndex, int computerIndex, GameKeeper gameKeeper, Reporter reporter) {
+        int outcome = gameKeeper.getOutcome(computerIndex, playerIndex);
 
-        if (outcome == 1) {
-            message = "Computer Wins! " + computerMove + " beats " + playerMove;
-            isDraw = "no";
-        } else if (outcome == -1) {
-            message = "You Win! " + playerMove + " beats " + computerMove;
-            isDraw = "no";
-        } else {
-            message = "It's a Draw! Both chose " + playerMove;
-            isDraw = "yes";
+        reporter.record(computerIndex, playerIndex, outcome);
+        if (roundLog != null) {
+            roundLog.append(computerIndex, playerIndex, outcome);
         }
+        if (Metrics.ENABLED) {
+            Metrics.get().recordThrow(outcome);
+            gameKeeper.recordPicks(computerIndex, playerIndex);
+        }
+
+        return outcome;
+    }
 
-        return Arrays.asList(message, isDraw);
+    /**
+     * Builds the message describing the outcome of a round.
+     *
+     * @param outcome The outcome of the round as returned by determineWinner.
+     * @param playerMove The move chosen by the player.
+     * @param computerMove The move chosen by the computer.
+     * @return A string message indicating the result of the round.
+     */
+    public String getMessage(int outcome, String playerMove, String computerMove) {
+        if (outcome == COMPUTER_WIN) {
+            return "Computer Wins! " + computerMove + " beats " + playerMove;
+        } else if (outcome == PLAYER_WIN) {
+            return "You Win! " + playerMove + " beats " + computerMove;
+        } else {
+            return "It's a Draw! Both chose " + playerMove;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,186 @@
+package assignmentone;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * A reusable text buffer for rendering reports without creating garbage.
+ * Numbers are written digit by digit straight into a {@code char[]}, right-aligned like {@code %Nd},
+ * and the finished text can be written to a channel through a reusable byte buffer.
+ * The text is written as UTF-8, so move names from definition files may use any characters.
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 2.0
+ */
+public class ReportBuffer {
+
+    private static final int INITIAL_CAPACITY = 4096;
+
+    private char[] chars = new char[INITIAL_CAPACITY];
+    private int length;
+    private ByteBuffer bytes;
+
+    /**
+     * Empties the buffer, keeping its memory for the next report.
+     *
+     * @return This buffer.
+     */
+    public ReportBuffer clear() {
+        length = 0;
+        return this;
+    }
+
+    /**
+     * Retrieves the number of chars in the buffer.
+     *
+     * @return The length of the text.
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Appends one char.
+     *
+     * @param c The char to append.
+     * @return This buffer.
+     */
+    public ReportBuffer append(char c) {
+        ensureCapacity(1);
+        chars[length++] = c;
+        return this;
+    }
+
+    /**
+     * Appends a string.
+     *
+     * @param text The string to append.
+     * @return This buffer.
+     */
+    public ReportBuffer append(String text) {
+        int n = text.length();
+        ensureCapacity(n);
+        text.getChars(0, n, chars, length);
+        length += n;
+        return this;
+    }
+
+    /**
+     * Appends a char several times.
+     *
+     * @param c The char to append.
+     * @param count The number of times to append it.
+     * @return This buffer.
+     */
+    public ReportBuffer appendRepeated(char c, int count) {
+        ensureCapacity(count);
+        for (int i = 0; i < count; i++) {
+            chars[length++] = c;
+        }
+        return this;
+    }
+
+    /**
+     * Appends a number in decimal.
+     *
+     * @param value The number to append.
+     * @return This buffer.
+     */
+    public ReportBuffer append(long value) {
+        return appendPadded(value, 0);
+    }
+
+    /**
+     * Appends a number in decimal, padded on the left with spaces to the given width, like {@code %Nd}.
+     * Numbers wider than the width are written in full.
+     *
+     * @param value The number to append.
+     * @param width The minimum width of the number.
+     * @return This buffer.
+     */
+    public ReportBuffer appendPadded(long value, int width) {
+        if (value == Long.MIN_VALUE) {
+            String text = Long.toString(value);
+            appendRepeated(' ', width - text.length());
+            return append(text);
+        }
+        boolean negative = value < 0;
+        long magnitude = Math.abs(value);
+        int digits = 1;
+        for (long rest = magnitude / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        int size = digits + (negative ? 1 : 0);
+        appendRepeated(' ', width - size);
+
+        ensureCapacity(size);
+        int position = length + size;
+        do {
+            chars[--position] = (char) ('0' + magnitude % 10);
+            magnitude /= 10;
+        } while (magnitude > 0);
+        if (negative) {
+            chars[--position] = '-';
+        }
+        length += size;
+        return this;
+    }
+
+    /**
+     * Writes the text to a channel, encoded as UTF-8.
+     * A surrogate without its pair is written as {@code ?}, as {@link String#getBytes} does.
+     *
+     * @param channel The channel to write to.
+     * @throws IOException If the channel cannot be written.
+     */
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        if (bytes == null || bytes.capacity() < 3 * chars.length) {
+            bytes = ByteBuffer.allocate(3 * chars.length);
+        }
+        bytes.clear();
+        for (int i = 0; i < length; i++) {
+            char c = chars[i];
+            if (c < 0x80) {
+                bytes.put((byte) c);
+            } else if (c < 0x800) {
+                bytes.put((byte) (0xC0 | c >>> 6)).put((byte) (0x80 | c & 0x3F));
+            } else if (!Character.isSurrogate(c)) {
+                bytes.put((byte) (0xE0 | c >>> 12)).put((byte) (0x80 | c >>> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(chars[i + 1])) {
+                int codePoint = Character.toCodePoint(c, chars[++i]);
+                bytes.put((byte) (0xF0 | codePoint >>> 18)).put((byte) (0x80 | codePoint >>> 12 & 0x3F))
+                        .put((byte) (0x80 | codePoint >>> 6 & 0x3F)).put((byte) (0x80 | codePoint & 0x3F));
+            } else {
+                bytes.put((byte) '?');
+            }
+        }
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    /**
+     * Retrieves the text of the buffer.
+     *
+     * @return The text as a String.
+     */
+    @Override
+    public String toString() {
+        return new String(chars, 0, length);
+    }
+
+    /**
+     * Helper method: Grows the buffer so that the given number of chars can be appended.
+     *
+     * @param extra The number of chars about to be appended.
+     */
+    private void ensureCapacity(int extra) {
+        if (length + extra > chars.length) {
+            char[] grown = new char[Math.max(chars.length * 2, length + extra)];
+            System.arraycopy(chars, 0, grown, 0, length);
+            chars = grown;
+        }
+    }
+}
@@ -0,0 +1,409 @@
+package assignmentone;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exports the results of a Reporter as CSV, JSON or a compact binary snapshot.
+ * Every format is written in a single pass over the results: each cell's computer wins, friend wins and
+ * draws are written as soon as they are read, row totals are written at the end of each row, and column
+ * totals are written after the last row. Text goes through a ReportBuffer and binary data through a byte
+ * buffer, both flushed to the channel in chunks, so no intermediate Strings are built. Text is written as UTF-8.
+ *
+ * <p>CSV has one line per cell ({@code computer,player,computerWins,friendWins,draws,net}), followed by a
+ * line per row total ({@code player} is {@code *}), per column total ({@code computer} is {@code *}) and
+ * the grand total ({@code *,*}).</p>
+ *
+ * <p>The binary snapshot holds a magic number, a version, the moves and then every cell's three counts
+ * as unsigned LEB128 variable-length integers, so small counts take a byte each. A snapshot holds at most
+ * {@link GameRegistry#MAX_MOVES} moves of at most {@link #MAX_MOVE_NAME_LENGTH} bytes each, and both are
+ * checked when it is read back, so a malformed snapshot is reported instead of exhausting memory.</p>
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 3.0
+ */
+public class ReportExporter {
+
+    public static final int BINARY_MAGIC = 0x52505352; // "RPSR"
+    public static final int BINARY_VERSION = 1;
+    public static final int MAX_MOVE_NAME_LENGTH = 1 << 12;
+
+    private static final int FLUSH_THRESHOLD = 1 << 16;
+    private static final int MAX_VARLONG_SIZE = 10;
+
+    /**
+     * Helper constructor: ReportExporter only has static methods.
+     */
+    private ReportExporter() {
+    }
+
+    /**
+     * The entry point for exporting the results of a round log.
+     * Expects the format ({@code csv}, {@code json} or {@code binary}), the round log file and the output file.
+     *
+     * @param args Command line arguments: the format, the log file and the output file.
+     * @throws IOException If the log cannot be read or the output cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.out.println("Usage: ReportExporter <csv|json|binary> <logFile> <outFile>");
+            return;
+        }
+        Reporter reporter = RoundLogReplay.replay(Paths.get(args[1]), GameRegistry.getDefault());
+        try (FileChannel channel = FileChannel.open(Paths.get(args[2]), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            switch (args[0]) {
+                case "csv":
+                    writeCsv(reporter, channel);
+                    break;
+                case "json":
+                    writeJson(reporter, channel);
+                    break;
+                case "binary":
+                    writeBinary(reporter, channel);
+                    break;
+                default:
+                    System.out.println("ERROR: Unknown format " + args[0]);
+            }
+        }
+    }
+
+    /**
+     * Writes the results as CSV.
+     *
+     * @param reporter The Reporter holding the results.
+     * @param channel The channel to write to.
+     * @throws IOException If the channel cannot be written.
+     */
+    public static void writeCsv(Reporter reporter, WritableByteChannel channel) throws IOException {
+        List<String> moves = reporter.validMoves;
+        ResultsTally tally = reporter.getTally();
+        int size = tally.size();
+        long[] columnWins = new long[size * 3];
+        ReportBuffer out = new ReportBuffer();
+
+        out.append("computer,player,computerWins,friendWins,draws,net\n");
+        for (int i = 0; i < size; i++) {
+            long rowComputerWins = 0;
+            long rowPlayerWins = 0;
+            long rowDraws = 0;
+            for (int j = 0; j < size; j++) {
+                long computerWins = tally.getComputerWins(i, j);
+                long playerWins = tally.getPlayerWins(i, j);
+                long draws = tally.getDraws(i, j);
+                appendCsvLine(out, moves.get(i), moves.get(j), computerWins, playerWins, draws);
+                rowComputerWins += computerWins;
+                rowPlayerWins += playerWins;
+                rowDraws += draws;
+                columnWins[3 * j] += computerWins;
+                columnWins[3 * j + 1] += playerWins;
+                columnWins[3 * j + 2] += draws;
+            }
+            appendCsvLine(out, moves.get(i), "*", rowComputerWins, rowPlayerWins, rowDraws);
+            flushIfFull(out, channel);
+        }
+        for (int j = 0; j < size; j++) {
+            appendCsvLine(out, "*", moves.get(j), columnWins[3 * j], columnWins[3 * j + 1], columnWins[3 * j + 2]);
+        }
+        appendCsvLine(out, "*", "*", reporter.getComputerWins(), reporter.getPlayerWins(), reporter.getDraws());
+        out.writeTo(channel);
+    }
+
+    /**
+     * Writes the results as a JSON object with the game's moves, one entry per row with its cells
+     * as {@code [computerWins, friendWins, draws]} and its totals, the column totals and the overall totals.
+     *
+     * @param reporter The Reporter holding the results.
+     * @param channel The channel to write to.
+     * @throws IOException If the channel cannot be written.
+     */
+    public static void writeJson(Reporter reporter, WritableByteChannel channel) throws IOException {
+        List<String> moves = reporter.validMoves;
+        ResultsTally tally = reporter.getTally();
+        int size = tally.size();
+        long[] columnNet = new long[size];
+        long[] columnDraws = new long[size];
+        ReportBuffer out = new ReportBuffer();
+
+        out.append("{\"moves\":[");
+        for (int i = 0; i < size; i++) {
+            appendJsonString(out.append(i == 0 ? "" : ","), moves.get(i));
+        }
+        out.append("],\"rows\":[");
+        for (int i = 0; i < size; i++) {
+            long rowNet = 0;
+            long rowDraws = 0;
+            out.append(i == 0 ? "{\"move\":" : ",{\"move\":");
+            appendJsonString(out, moves.get(i)).append(",\"cells\":[");
+            for (int j = 0; j < size; j++) {
+                long computerWins = tally.getComputerWins(i, j);
+                long playerWins = tally.getPlayerWins(i, j);
+                long draws = tally.getDraws(i, j);
+                out.append(j == 0 ? "[" : ",[").append(computerWins).append(',').append(playerWins)
+                        .append(',').append(draws).append(']');
+                rowNet += computerWins - playerWins;
+                rowDraws += draws;
+                columnNet[j] += computerWins - playerWins;
+                columnDraws[j] += draws;
+            }
+            out.append("],\"net\":").append(rowNet).append(",\"draws\":").append(rowDraws).append('}');
+            flushIfFull(out, channel);
+        }
+        out.append("],\"columns\":[");
+        for (int j = 0; j < size; j++) {
+            out.append(j == 0 ? "{\"net\":" : ",{\"net\":").append(columnNet[j])
+                    .append(",\"draws\":").append(columnDraws[j]).append('}');
+        }
+        out.append("],\"computerWins\":").append(reporter.getComputerWins());
+        out.append(",\"friendWins\":").append(reporter.getPlayerWins());
+        out.append(",\"draws\":").append(reporter.getDraws());
+        out.append(",\"throws\":").append(reporter.getTotalRoundsPlayed() + reporter.getDraws());
+        out.append("}\n");
+        out.writeTo(channel);
+    }
+
+    /**
+     * Writes the results as a compact binary snapshot.
+     * The totals are not stored, since they follow from the cells.
+     *
+     * @param reporter The Reporter holding the results.
+     * @param channel The channel to write to.
+     * @throws IOException If the channel cannot be written.
+     * @throws IllegalArgumentException If the game has more than {@link GameRegistry#MAX_MOVES} moves or a move name
+     *         is longer than {@link #MAX_MOVE_NAME_LENGTH} bytes.
+     */
+    public static void writeBinary(Reporter reporter, WritableByteChannel channel) throws IOException {
+        List<String> moves = reporter.validMoves;
+        ResultsTally tally = reporter.getTally();
+        int size = tally.size();
+        if (size > GameRegistry.MAX_MOVES) {
+            throw new IllegalArgumentException("Binary snapshots support games with up to " + GameRegistry.MAX_MOVES
+                    + " moves.");
+        }
+        ByteBuffer out = ByteBuffer.allocate(FLUSH_THRESHOLD + 3 * MAX_VARLONG_SIZE);
+
+        out.putInt(BINARY_MAGIC).put((byte) BINARY_VERSION);
+        putVarLong(out, size);
+        for (String move : moves) {
+            byte[] name = move.getBytes(StandardCharsets.UTF_8);
+            if (name.length > MAX_MOVE_NAME_LENGTH) {
+                throw new IllegalArgumentException("Binary snapshots support move names of up to "
+                        + MAX_MOVE_NAME_LENGTH + " bytes.");
+            }
+            if (out.remaining() < name.length + MAX_VARLONG_SIZE) {
+                drain(out, channel);
+            }
+            putVarLong(out, name.length);
+            out.put(name);
+        }
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (out.position() >= FLUSH_THRESHOLD) {
+                    drain(out, channel);
+                }
+                putVarLong(out, tally.getComputerWins(i, j));
+                putVarLong(out, tally.getPlayerWins(i, j));
+                putVarLong(out, tally.getDraws(i, j));
+            }
+        }
+        drain(out, channel);
+    }
+
+    /**
+     * Reads a binary snapshot back into a Reporter.
+     *
+     * @param channel The channel to read from.
+     * @return A Reporter holding the snapshot's results.
+     * @throws IOException If the channel cannot be read or does not hold a well-formed snapshot.
+     */
+    public static Reporter readBinary(ReadableByteChannel channel) throws IOException {
+        ByteBuffer in = ByteBuffer.allocate(FLUSH_THRESHOLD);
+        in.flip();
+        if (getByte(in, channel) != (byte) (BINARY_MAGIC >>> 24) || getByte(in, channel) != (byte) (BINARY_MAGIC >>> 16)
+                || getByte(in, channel) != (byte) (BINARY_MAGIC >>> 8) || getByte(in, channel) != (byte) BINARY_MAGIC) {
+            throw new IOException("Not a binary results snapshot.");
+        }
+        if (getByte(in, channel) != BINARY_VERSION) {
+            throw new IOException("Unsupported binary results snapshot version.");
+        }
+
+        long moveCount = getVarLong(in, channel);
+        if (moveCount < 1 || moveCount > GameRegistry.MAX_MOVES) {
+            throw new IOException("Binary results snapshot holds an invalid number of moves: " + moveCount);
+        }
+        int size = (int) moveCount;
+        List<String> moves = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            long nameLength = getVarLong(in, channel);
+            if (nameLength < 0 || nameLength > MAX_MOVE_NAME_LENGTH) {
+                throw new IOException("Binary results snapshot holds a move name of invalid length: " + nameLength);
+            }
+            byte[] name = new byte[(int) nameLength];
+            for (int k = 0; k < name.length; k++) {
+                name[k] = getByte(in, channel);
+            }
+            moves.add(new String(name, StandardCharsets.UTF_8));
+        }
+
+        Reporter reporter = new Reporter(moves);
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                reporter.add(i, j, 1, getCount(in, channel));
+                reporter.add(i, j, -1, getCount(in, channel));
+                reporter.add(i, j, 0, getCount(in, channel));
+            }
+        }
+        return reporter;
+    }
+
+    /**
+     * Helper method: Appends one CSV line.
+     *
+     * @param out The buffer to append to.
+     * @param computerMove The computer's move, or {@code *} for a column total.
+     * @param playerMove The friend's move, or {@code *} for a row total.
+     * @param computerWins The number of computer wins.
+     * @param playerWins The number of friend wins.
+     * @param draws The number of draws.
+     */
+    private static void appendCsvLine(ReportBuffer out, String computerMove, String playerMove,
+            long computerWins, long playerWins, long draws) {
+        out.append(computerMove).append(',').append(playerMove).append(',').append(computerWins).append(',')
+                .append(playerWins).append(',').append(draws).append(',').append(computerWins - playerWins)
+                .append('\n');
+    }
+
+    /**
+     * Helper method: Appends a JSON string literal, escaping quotes, backslashes and control characters.
+     *
+     * @param out The buffer to append to.
+     * @param text The text of the string.
+     * @return The buffer.
+     */
+    private static ReportBuffer appendJsonString(ReportBuffer out, String text) {
+        out.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.append('\\').append(c);
+            } else if (c < 0x20 || c > 0x7E) {
+                String hex = Integer.toHexString(c);
+                out.append("\\u").appendRepeated('0', 4 - hex.length()).append(hex);
+            } else {
+                out.append(c);
+            }
+        }
+        return out.append('"');
+    }
+
+    /**
+     * Helper method: Writes the buffered text to the channel once it is large enough.
+     *
+     * @param out The buffer of text.
+     * @param channel The channel to write to.
+     * @throws IOException If the channel cannot be written.
+     */
+    private static void flushIfFull(ReportBuffer out, WritableByteChannel channel) throws IOException {
+        if (out.length() >= FLUSH_THRESHOLD) {
+            out.writeTo(channel);
+            out.clear();
+        }
+    }
+
+    /**
+     * Helper method: Writes all buffered bytes to the channel and empties the buffer.
+     *
+     * @param out The buffer of bytes.
+     * @param channel The channel to write to.
+     * @throws IOException If the channel cannot be written.
+     */
+    private static void drain(ByteBuffer out, WritableByteChannel channel) throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    /**
+     * Helper method: Writes a non-negative number as an unsigned LEB128 variable-length integer.
+     *
+     * @param out The buffer to write to.
+     * @param value The number.
+     */
+    private static void putVarLong(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    /**
+     * Helper method: Reads an unsigned LEB128 variable-length integer.
+     *
+     * @param in The buffer to read from.
+     * @param channel The channel the buffer is refilled from.
+     * @return The number.
+     * @throws IOException If the channel cannot be read or ends too early.
+     */
+    private static long getVarLong(ByteBuffer in, ReadableByteChannel channel) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = getByte(in, channel);
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed number in binary results snapshot.");
+    }
+
+    /**
+     * Helper method: Reads a count, which is never negative.
+     *
+     * @param in The buffer to read from.
+     * @param channel The channel the buffer is refilled from.
+     * @return The count.
+     * @throws IOException If the channel cannot be read, ends too early or holds a negative count.
+     */
+    private static long getCount(ByteBuffer in, ReadableByteChannel channel) throws IOException {
+        long count = getVarLong(in, channel);
+        if (count < 0) {
+            throw new IOException("Binary results snapshot holds a negative count.");
+        }
+        return count;
+    }
+
+    /**
+     * Helper method: Reads one byte, refilling the buffer from the channel when it is empty.
+     *
+     * @param in The buffer to read from.
+     * @param channel The channel the buffer is refilled from.
+     * @return The byte.
+     * @throws IOException If the channel cannot be read or ends too early.
+     */
+    private static byte getByte(ByteBuffer in, ReadableByteChannel channel) throws IOException {
+        if (!in.hasRemaining()) {
+            in.clear();
+            int read;
+            do {
+                read = channel.read(in);
+            } while (read == 0);
+            in.flip();
+            if (read < 0) {
+                throw new IOException("Binary results snapshot ended too early.");
+            }
+        }
+        return in.get();
+    }
+}
@@ -1,29 +1,58 @@
 package assignmentone;
 
-import java.util.Arrays;
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
 import java.util.List;
 
 /**
  * Manages the recording and reporting of round outcomes in the game.
- * This class maintains a matrix structure that tallies the results for each possible move combination.
+ * This class keeps a ResultsTally with exact win, loss and draw counts for each possible move combination.
  * The class also produces a summary report of the game outcomes.
+ * Wins, draws and the row and column totals are kept up to date on every update, so statistics can be
+ * queried without rescanning the tally. The report is rendered into the Formatter's reusable buffer,
+ * and can be written straight to a channel without building a String.
  *
  * @author Nikola Desnica (UNI: ndd2131)
- * @version 7.0
+ * @version 12.0
  */
 public class Reporter extends Formatter {
 
-    public int draws = 0;
+    private ResultsTally tally;
+    private long computerWins;
+    private long playerWins;
+    private long draws;
+    private long grandTotal;
+    private long[] rowTotals;
+    private long[] columnTotals;
 
+    /**
+     * Constructor that initializes the reporter with a list of valid moves and an empty tally.
+     *
+     * @param validMoves A list containing valid moves for the game.
+     */
+    public Reporter(List<String> validMoves) {
+        super(validMoves);
+        int size = validMoves.size();
+        this.tally = new ResultsTally(size);
+        this.rowTotals = new long[size];
+        this.columnTotals = new long[size];
+    }
 
     /**
-     * Constructor that initializes the reporter with a list of valid moves and sets up the results matrix.
+     * Constructor that initializes the reporter with a list of valid moves and existing results.
+     * Positive cells of the results matrix count as computer wins and negative cells as player wins.
      *
      * @param validMoves A list containing valid moves for the game.
      * @param resultMatrix The matrix storing the results of moves.
      */
     public Reporter(List<String> validMoves, int[][] resultMatrix) {
-        super(validMoves, resultMatrix);
+        this(validMoves);
+        for (int i = 0; i < resultMatrix.length; i++) {
+            for (int j = 0; j < resultMatrix[i].length; j++) {
+                int result = resultMatrix[i][j];
+                add(i, j, Integer.signum(result), Math.abs(result));
+            }
+        }
     }
 
     /**
@@ -38,83 +67,156 @@ public class Reporter extends Formatter {
         int playerIndex = validMoves.indexOf(playerMove);
 
         if (computerIndex != -1 && playerIndex != -1) {
-            matrix[computerIndex][playerIndex] += result;
+            record(computerIndex, playerIndex, result);
         }
     }
 
     /**
-     * Calculates the total number of rounds played based on the results matrix.
-     * Simply adding all the absolute values together gives us this information.
+     * Updates the results based on the indices of the moves played in a round.
+     * Draws are counted here as well.
      *
-     * @return The total number of rounds played.
+     * @param computerIndex The index of the move chosen by the computer.
+     * @param playerIndex The index of the move chosen by the player.
+     * @param result The outcome of the round (+1 for a computer win, -1 for a computer loss, 0 for a draw).
      */
-    public int getTotalRoundsPlayed() {
-        int total = 0;
-        for (int i = 0; i < matrix.length; i++) {
-            for (int j = 0; j < matrix[i].length; j++) {
-                total += Math.abs(matrix[i][j]);
-            }
+    public void record(int computerIndex, int playerIndex, int result) {
+        add(computerIndex, playerIndex, result, 1);
+    }
+
+    /**
+     * Counts several rounds with the same moves and outcome in the tally and the running totals.
+     *
+     * @param computerIndex The index of the move chosen by the computer.
+     * @param playerIndex The index of the move chosen by the player.
+     * @param result The outcome of the rounds (+1 for a computer win, -1 for a computer loss, 0 for a draw).
+     * @param count The number of rounds.
+     */
+    public void add(int computerIndex, int playerIndex, int result, long count) {
+        if (count == 0) {
+            return;
+        }
+        tally.add(computerIndex, playerIndex, result, count);
+        if (result > 0) {
+            computerWins += count;
+        } else if (result < 0) {
+            playerWins += count;
+        } else {
+            draws += count;
+            return;
         }
-        return total;
+        long change = result * count;
+        rowTotals[computerIndex] += change;
+        columnTotals[playerIndex] += change;
+        grandTotal += change;
     }
 
     /**
-     * Calculates the number of rounds the computer won based on the results matrix.
-     * All the positive values in the results matrix indicate a computer win.
+     * Retrieves the tally holding the win, loss and draw counts of every pair of moves.
+     *
+     * @return The results tally.
+     */
+    public ResultsTally getTally() {
+        return tally;
+    }
+
+    /**
+     * Retrieves the total number of rounds played, not counting draws.
+     * Every decided round is either a computer win or a player win.
+     *
+     * @return The total number of rounds played.
+     */
+    public long getTotalRoundsPlayed() {
+        return computerWins + playerWins;
+    }
+
+    /**
+     * Retrieves the number of rounds the computer won.
      *
      * @return The number of computer wins.
      */
-    public int getComputerWins() {
-        int wins = 0;
-        for (int[] row : matrix) {
-            for (int val : row) {
-                if (val > 0) {
-                    wins += val;
-                }
-            }
-        }
-        return wins;
+    public long getComputerWins() {
+        return computerWins;
     }
 
     /**
-     * Calculates the number of rounds the player won.
-     * total rounds played - computer wins = player wins.
+     * Retrieves the number of rounds the player won.
      *
      * @return The number of player wins.
      */
-    public int getPlayerWins() {
-        return getTotalRoundsPlayed() - getComputerWins();
+    public long getPlayerWins() {
+        return playerWins;
+    }
+
+    /**
+     * Retrieves the number of rounds that resulted in a draw.
+     *
+     * @return The number of draws.
+     */
+    public long getDraws() {
+        return draws;
     }
 
     /**
-     * Sets the draws variable to the number of rounds that resulted in a draw.
+     * Adds the results and draws tallied by another Reporter of the same game into this one.
      *
-     * @return A String representation of the number of draws.
+     * @param other The Reporter whose results are merged into this one.
      */
-    public void incrementDraws() {
-         this.draws += 1;
+    public void merge(Reporter other) {
+        ResultsTally counts = other.tally;
+        for (int i = 0; i < counts.size(); i++) {
+            for (int j = 0; j < counts.size(); j++) {
+                add(i, j, 1, counts.getComputerWins(i, j));
+                add(i, j, -1, counts.getPlayerWins(i, j));
+                add(i, j, 0, counts.getDraws(i, j));
+            }
+        }
     }
 
     /**
      * Generates the full report of the game outcome as a results matrix with a total,
-     * and two statements indicating how many rounds each participant won.
+     * a matrix of the draws, and statements indicating how many rounds each participant won.
      *
      * @return The fully generated report as a String.
      */
     public String generateReport() {
-        StringBuilder report = new StringBuilder();
+        return renderReport().toString();
+    }
+
+    /**
+     * Writes the full report, as generated by {@link #generateReport()}, to a channel.
+     * The report is rendered into a reused buffer, so repeated writes create no garbage.
+     *
+     * @param channel The channel to write the report to.
+     * @throws IOException If the channel cannot be written.
+     */
+    public void writeReport(WritableByteChannel channel) throws IOException {
+        renderReport().writeTo(channel);
+    }
+
+    /**
+     * Helper method: Renders the full report into the reusable buffer.
+     *
+     * @return The buffer holding the report.
+     */
+    private ReportBuffer renderReport() {
+        ReportBuffer report = getBuffer().clear();
+        long totalRounds = getTotalRoundsPlayed();
 
         report.append(super.generateCenteredTitle("Friend"));
         report.append(super.generateHeader(1));
         report.append(super.generateSeparatorLine(1));
-        report.append(generateRows());
-        report.append(generateTotalRow()).append("\n");
-        report.append("Computer wins: " + getComputerWins() + "/" + getTotalRoundsPlayed() + "\n");
-        report.append("Friend wins: " + getPlayerWins() + "/" + getTotalRoundsPlayed() + "\n");
-        report.append("Number of draws: " + this.draws + "\n");
-        report.append("Number of throws: " + (getTotalRoundsPlayed() + this.draws) + "\n");
+        appendRows(report);
+        appendTotalRow(report).append('\n');
+        report.append(super.generateCenteredTitle("Draws"));
+        report.append(super.generateHeader(1));
+        report.append(super.generateSeparatorLine(1));
+        appendDrawRows(report).append('\n');
+        report.append("Computer wins: ").append(computerWins).append('/').append(totalRounds).append('\n');
+        report.append("Friend wins: ").append(playerWins).append('/').append(totalRounds).append('\n');
+        report.append("Number of draws: ").append(draws).append('\n');
+        report.append("Number of throws: ").append(totalRounds + draws).append('\n');
 
-        return report.toString();
+        return report;
     }
 
     /**
@@ -124,25 +226,54 @@ public class Reporter extends Formatter {
      */
     @Override
     public String generateRows() {
-        StringBuilder builder = new StringBuilder();
-
-        for (int i = 0; i < matrix.length; i++) {
-            int rowTotal = 0;
-            if (i == 0) {
-                builder.append("Computer ");
-            } else {
-                builder.append("         ");
-            }
-            builder.append(validMoves.get(i).toUpperCase().charAt(0)).append(" |");
+        return appendRows(getBuffer().clear()).toString();
+    }
 
-            for (int j = 0; j < matrix[i].length; j++) {
-                builder.append(String.format("%3d", matrix[i][j]));
-                rowTotal += matrix[i][j];
+    /**
+     * Helper method: Renders the result matrix rows with their total column into a buffer.
+     *
+     * @param builder The buffer to render into.
+     * @return The buffer.
+     */
+    @Override
+    protected ReportBuffer appendRows(ReportBuffer builder) {
+        for (int i = 0; i < tally.size(); i++) {
+            builder.append(generateRowLabel(i));
+            for (int j = 0; j < tally.size(); j++) {
+                builder.appendPadded(tally.getNetResult(i, j), 3);
             }
-            builder.append(String.format("%5d\n", rowTotal));
+            builder.appendPadded(rowTotals[i], 5).append('\n');
         }
+        return builder;
+    }
 
-        return builder.toString();
+    /**
+     * Helper method: Generates the rows of the draws matrix with a total column.
+     *
+     * @return A string representation of the draws matrix rows.
+     */
+    public String generateDrawRows() {
+        return appendDrawRows(getBuffer().clear()).toString();
+    }
+
+    /**
+     * Helper method: Renders the rows of the draws matrix with a total column into a buffer.
+     *
+     * @param builder The buffer to render into.
+     * @return The buffer.
+     */
+    private ReportBuffer appendDrawRows(ReportBuffer builder) {
+        for (int i = 0; i < tally.size(); i++) {
+            long rowDraws = 0;
+            builder.append(generateRowLabel(i));
+            for (int j = 0; j < tally.size(); j++) {
+                long cellDraws = tally.getDraws(i, j);
+                builder.appendPadded(cellDraws, 3);
+                rowDraws += cellDraws;
+            }
+            builder.appendPadded(rowDraws, 5).append('\n');
+        }
+        return builder;
     }
 
     /**
@@ -151,20 +282,23 @@ public class Reporter extends Formatter {
      * @return A string representation of the total row.
      */
     public String generateTotalRow() {
-        StringBuilder builder = new StringBuilder();
-        int grandTotal = Arrays.stream(matrix)
-                .mapToInt(row -> Arrays.stream(row).sum())
-                .sum();
+        return appendTotalRow(getBuffer().clear()).toString();
+    }
 
+    /**
+     * Helper method: Renders the total row into a buffer.
+     *
+     * @param builder The buffer to render into.
+     * @return The buffer.
+     */
+    private ReportBuffer appendTotalRow(ReportBuffer builder) {
         builder.append("           |\n");
         builder.append("       Tot |");
         for (int i = 0; i < validMoves.size(); i++) {
-            final int index = i;
-            builder.append(String.format("%3d", Arrays.stream(matrix).mapToInt(row -> row[index]).sum()));
+            builder.appendPadded(columnTotals[i], 3);
         }
-        builder.append(String.format("%5d", grandTotal));
-        builder.append("/" + getTotalRoundsPlayed() + "\n");
-
-        return builder.toString();
+        builder.appendPadded(grandTotal, 5);
+        builder.append('/').append(getTotalRoundsPlayed()).append('\n');
+        return builder;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,248 @@
+package assignmentone;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores the rounds of many sessions on disk and answers aggregate questions about them.
+ * Every game type gets its own directory of memory-mapped segments, each holding a fixed number of rounds
+ * and a summary of their counts. A query over the most recent rounds adds up the summaries of the segments
+ * it fully covers, and only scans the rows of the one segment it covers partially.
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 1.0
+ */
+public class ResultsArchive implements AutoCloseable {
+
+    public static final int DEFAULT_SEGMENT_CAPACITY = 1 << 20;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_EXTENSION = ".rpsa";
+
+    private final Path directory;
+    private final int segmentCapacity;
+    private final Map<String, ArchiveSegment> openSegments = new HashMap<>();
+
+    /**
+     * Constructs a ResultsArchive stored in the given directory, using the default segment capacity.
+     *
+     * @param directory The directory of the archive; it is created if needed.
+     * @throws IOException If the directory cannot be created.
+     */
+    public ResultsArchive(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_CAPACITY);
+    }
+
+    /**
+     * Constructs a ResultsArchive stored in the given directory.
+     *
+     * @param directory The directory of the archive; it is created if needed.
+     * @param segmentCapacity The number of rounds in each new segment.
+     * @throws IOException If the directory cannot be created.
+     */
+    public ResultsArchive(Path directory, int segmentCapacity) throws IOException {
+        this.directory = directory;
+        this.segmentCapacity = segmentCapacity;
+        Files.createDirectories(directory);
+    }
+
+    /**
+     * The entry point for importing round logs and querying the archive.
+     * Expects either {@code import <archiveDir> <logFile>...} or
+     * {@code query <archiveDir> <gameType> <computerMove> <playerMove> [lastRounds]}.
+     *
+     * @param args Command line arguments as described above.
+     * @throws IOException If the archive or a log cannot be read or written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length >= 3 && args[0].equals("import")) {
+            try (ResultsArchive archive = new ResultsArchive(Paths.get(args[1]))) {
+                for (int i = 2; i < args.length; i++) {
+                    long rounds = archive.importLog(Paths.get(args[i]), GameRegistry.getDefault());
+                    System.out.println("Imported " + rounds + " rounds from " + args[i]);
+                }
+            }
+        } else if (args.length >= 5 && args[0].equals("query")) {
+            GameDefinition game = GameRegistry.getDefault().get(args[2]);
+            if (game == null) {
+                System.out.println("ERROR: Unknown game type " + args[2]);
+                return;
+            }
+            int computerIndex = game.indexOf(args[3]);
+            int playerIndex = game.indexOf(args[4]);
+            if (computerIndex == -1 || playerIndex == -1) {
+                System.out.println("ERROR: Unknown move for " + game.getName());
+                return;
+            }
+            long lastRounds = args.length > 5 ? Long.parseLong(args[5]) : Long.MAX_VALUE;
+
+            try (ResultsArchive archive = new ResultsArchive(Paths.get(args[1]))) {
+                ResultsTally tally = archive.aggregate(game, lastRounds);
+                long computerWins = tally.getComputerWins(computerIndex, playerIndex);
+                long playerWins = tally.getPlayerWins(computerIndex, playerIndex);
+                long draws = tally.getDraws(computerIndex, playerIndex);
+                long rounds = computerWins + playerWins + draws;
+                System.out.println(args[3] + " vs " + args[4] + ": " + rounds + " rounds, computer wins "
+                        + computerWins + ", friend wins " + playerWins + ", draws " + draws);
+                if (rounds > 0) {
+                    System.out.println(String.format("Computer win rate: %.4f", (double) computerWins / rounds));
+                }
+            }
+        } else {
+            System.out.println("Usage: ResultsArchive import <archiveDir> <logFile>...");
+            System.out.println("       ResultsArchive query <archiveDir> <gameType> <computerMove> <playerMove> [lastRounds]");
+        }
+    }
+
+    /**
+     * Appends one round of a game to the archive, starting a new segment when the current one is full.
+     *
+     * @param game The definition of the game the round was played in.
+     * @param computerIndex The index of the move chosen by the computer.
+     * @param playerIndex The index of the move chosen by the player.
+     * @param outcome The outcome of the round (+1 for a computer win, -1 for a computer loss, 0 for a draw).
+     * @throws IOException If a new segment cannot be created.
+     */
+    public void append(GameDefinition game, int computerIndex, int playerIndex, int outcome) throws IOException {
+        ArchiveSegment segment = openSegments.get(game.getName());
+        if (segment == null || segment.isFull()) {
+            segment = openForAppend(game);
+        }
+        segment.append(computerIndex, playerIndex, outcome);
+    }
+
+    /**
+     * Appends every round of a RoundLog file to the archive.
+     *
+     * @param logFile The log file to import.
+     * @param registry The registry holding the game the log was written for.
+     * @return The number of rounds imported.
+     * @throws IOException If the log cannot be read or the archive cannot be written.
+     */
+    public long importLog(Path logFile, GameRegistry registry) throws IOException {
+        GameDefinition[] game = new GameDefinition[1];
+        long[] rounds = new long[1];
+        IOException[] failure = new IOException[1];
+        RoundLogReplay.read(logFile, registry, definition -> game[0] = definition,
+                (session, round, computerIndex, playerIndex, outcome) -> {
+                    if (failure[0] != null) {
+                        return;
+                    }
+                    try {
+                        append(game[0], computerIndex, playerIndex, outcome);
+                        rounds[0]++;
+                    } catch (IOException e) {
+                        failure[0] = e;
+                    }
+                });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        return rounds[0];
+    }
+
+    /**
+     * Adds up the results of the most recent rounds of a game.
+     *
+     * @param game The definition of the game to query.
+     * @param lastRounds The number of most recent rounds to include; {@code Long.MAX_VALUE} for all of them.
+     * @return A tally holding the counts of the included rounds.
+     * @throws IOException If a segment cannot be read.
+     */
+    public ResultsTally aggregate(GameDefinition game, long lastRounds) throws IOException {
+        ResultsTally tally = new ResultsTally(game.size());
+        List<Path> files = listSegments(game.getName());
+        long remaining = lastRounds;
+
+        for (int i = files.size() - 1; i >= 0 && remaining > 0; i--) {
+            ArchiveSegment segment = openSegments.get(game.getName());
+            if (segment == null || i != files.size() - 1) {
+                segment = ArchiveSegment.open(files.get(i), false);
+            }
+            if (segment.size() != game.size()) {
+                throw new IOException("The archive of " + game.getName() + " was written for a different number of moves.");
+            }
+            int rows = segment.getRowCount();
+            if (rows <= remaining) {
+                segment.addSummaryTo(tally);
+            } else {
+                segment.scanTo(tally, (int) (rows - remaining), rows);
+            }
+            remaining -= rows;
+        }
+        return tally;
+    }
+
+    /**
+     * Writes every open segment to disk.
+     */
+    @Override
+    public void close() {
+        for (ArchiveSegment segment : openSegments.values()) {
+            segment.force();
+        }
+        openSegments.clear();
+    }
+
+    /**
+     * Helper method: Opens the last segment of a game for appending, or creates a new one.
+     *
+     * @param game The definition of the game.
+     * @return A segment with room for at least one more round.
+     * @throws IOException If the segment cannot be opened or created.
+     */
+    private ArchiveSegment openForAppend(GameDefinition game) throws IOException {
+        String name = game.getName();
+        ArchiveSegment current = openSegments.get(name);
+        if (current != null) {
+            current.force();
+        }
+
+        List<Path> files = listSegments(name);
+        ArchiveSegment segment = null;
+        if (current == null && !files.isEmpty()) {
+            segment = ArchiveSegment.open(files.get(files.size() - 1), true);
+            if (segment.size() != game.size()) {
+                throw new IOException("The archive of " + name + " was written for a different number of moves.");
+            }
+        }
+        if (segment == null || segment.isFull()) {
+            Path gameDirectory = directory.resolve(name);
+            Files.createDirectories(gameDirectory);
+            Path file = gameDirectory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, files.size(), SEGMENT_EXTENSION));
+            segment = ArchiveSegment.create(file, game.size(), segmentCapacity);
+        }
+        openSegments.put(name, segment);
+        return segment;
+    }
+
+    /**
+     * Helper method: Lists the segment files of a game, oldest first.
+     *
+     * @param gameName The name of the game.
+     * @return The segment files.
+     * @throws IOException If the directory cannot be listed.
+     */
+    private List<Path> listSegments(String gameName) throws IOException {
+        Path gameDirectory = directory.resolve(gameName);
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(gameDirectory)) {
+            return files;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(gameDirectory,
+                SEGMENT_PREFIX + "*" + SEGMENT_EXTENSION)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        Collections.sort(files);
+        return files;
+    }
+}
@@ -0,0 +1,126 @@
+package assignmentone;
+
+/**
+ * Counts the computer wins, player wins and draws of every pair of moves.
+ * The counts are kept as {@code long}s in flat arrays indexed by {@code computerIndex * size + playerIndex},
+ * so they are exact for any number of rounds and recording a round is a single increment.
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 1.0
+ */
+public class ResultsTally {
+
+    private final int size;
+    private final long[] computerWins;
+    private final long[] playerWins;
+    private final long[] draws;
+
+    /**
+     * Constructs an empty ResultsTally.
+     *
+     * @param size The number of moves in the game.
+     */
+    public ResultsTally(int size) {
+        this.size = size;
+        this.computerWins = new long[size * size];
+        this.playerWins = new long[size * size];
+        this.draws = new long[size * size];
+    }
+
+    /**
+     * Retrieves the number of moves in the game.
+     *
+     * @return The number of rows and columns of the tally.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Counts one round.
+     *
+     * @param computerIndex The index of the move chosen by the computer.
+     * @param playerIndex The index of the move chosen by the player.
+     * @param outcome The outcome of the round (+1 for a computer win, -1 for a computer loss, 0 for a draw).
+     */
+    public void record(int computerIndex, int playerIndex, int outcome) {
+        add(computerIndex, playerIndex, outcome, 1);
+    }
+
+    /**
+     * Counts several rounds with the same moves and outcome.
+     *
+     * @param computerIndex The index of the move chosen by the computer.
+     * @param playerIndex The index of the move chosen by the player.
+     * @param outcome The outcome of the rounds (+1 for a computer win, -1 for a computer loss, 0 for a draw).
+     * @param count The number of rounds.
+     */
+    public void add(int computerIndex, int playerIndex, int outcome, long count) {
+        int cell = computerIndex * size + playerIndex;
+        if (outcome > 0) {
+            computerWins[cell] += count;
+        } else if (outcome < 0) {
+            playerWins[cell] += count;
+        } else {
+            draws[cell] += count;
+        }
+    }
+
+    /**
+     * Retrieves the number of rounds the computer won with the given pair of moves.
+     *
+     * @param computerIndex The index of the computer's move.
+     * @param playerIndex The index of the player's move.
+     * @return The number of computer wins.
+     */
+    public long getComputerWins(int computerIndex, int playerIndex) {
+        return computerWins[computerIndex * size + playerIndex];
+    }
+
+    /**
+     * Retrieves the number of rounds the player won with the given pair of moves.
+     *
+     * @param computerIndex The index of the computer's move.
+     * @param playerIndex The index of the player's move.
+     * @return The number of player wins.
+     */
+    public long getPlayerWins(int computerIndex, int playerIndex) {
+        return playerWins[computerIndex * size + playerIndex];
+    }
+
+    /**
+     * Retrieves the number of draws with the given pair of moves.
+     *
+     * @param computerIndex The index of the computer's move.
+     * @param playerIndex The index of the player's move.
+     * @return The number of draws.
+     */
+    public long getDraws(int computerIndex, int playerIndex) {
+        return draws[computerIndex * size + playerIndex];
+    }
+
+    /**
+     * Retrieves the net result of the given pair of moves: computer wins minus player wins.
+     *
+     * @param computerIndex The index of the computer's move.
+     * @param playerIndex The index of the player's move.
+     * @return The net result, as shown in the results matrix of the report.
+     */
+    public long getNetResult(int computerIndex, int playerIndex) {
+        int cell = computerIndex * size + playerIndex;
+        return computerWins[cell] - playerWins[cell];
+    }
+
+    /**
+     * Adds every count of another tally of the same game into this one.
+     *
+     * @param other The tally whose counts are added.
+     */
+    public void merge(ResultsTally other) {
+        for (int cell = 0; cell < computerWins.length; cell++) {
+            computerWins[cell] += other.computerWins[cell];
+            playerWins[cell] += other.playerWins[cell];
+            draws[cell] += other.draws[cell];
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package assignmentone;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Appends every round of a session to a binary log file without blocking the round loop on disk.
+ * Rounds are packed into a {@code long} each and handed to a writer thread through a single-producer
+ * ring buffer; the writer encodes them into a direct buffer and writes it to a FileChannel.
+ * The round loop only waits if the ring buffer is full.
+ *
+ * <p>The file starts with a header (magic, version, game name, session id), followed by fixed-width
+ * records of {@value #RECORD_SIZE} bytes: session (int), round index (int), computer move (short),
+ * player move (short) and outcome (byte).</p>
+ *
+ * <p>A RoundLog belongs to a single session, and {@link #append} must only be called from one thread.</p>
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 1.0
+ */
+public class RoundLog implements AutoCloseable {
+
+    public static final int MAGIC = 0x5250534C; // "RPSL"
+    public static final int VERSION = 1;
+    public static final int RECORD_SIZE = 13;
+    public static final int MAX_MOVES = 1 << 14;
+
+    private static final int RING_CAPACITY = 1 << 16;
+    private static final int WRITE_BUFFER_SIZE = RECORD_SIZE * 4096;
+    private static final long IDLE_PARK_NANOS = 50_000L;
+
+    private final FileChannel channel;
+    private final int session;
+    private final long[] ring = new long[RING_CAPACITY];
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean closed;
+    private volatile IOException failure;
+    private long nextPublish;
+    private int nextRound;
+
+    /**
+     * Constructs a RoundLog that writes to the given file, replacing any existing content.
+     *
+     * @param file The log file to write.
+     * @param game The definition of the game being logged.
+     * @param session The id of the session written into every record.
+     * @throws IOException If the file cannot be opened or the header cannot be written.
+     */
+    public RoundLog(Path file, GameDefinition game, int session) throws IOException {
+        if (game.size() > MAX_MOVES) {
+            throw new IllegalArgumentException("Round logs support games with up to " + MAX_MOVES + " moves.");
+        }
+        this.session = session;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+
+        byte[] name = game.getName().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer header = ByteBuffer.allocate(4 + 1 + 2 + name.length + 4);
+        header.putInt(MAGIC).put((byte) VERSION).putShort((short) name.length).put(name).putInt(session);
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+
+        this.writer = new Thread(this::drain, "round-log-writer-" + session);
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Appends one round to the log.
+     *
+     * @param computerIndex The index of the move chosen by the computer.
+     * @param playerIndex The index of the move chosen by the player.
+     * @param outcome The outcome of the round (+1 for a computer win, -1 for a computer loss, 0 for a draw).
+     */
+    public void append(int computerIndex, int playerIndex, int outcome) {
+        long round = nextRound++ & 0xFFFFFFFFL;
+        long event = (round << 32) | ((long) computerIndex << 18) | ((long) playerIndex << 4) | (outcome + 1);
+
+        while (nextPublish - consumed.get() >= RING_CAPACITY) {
+            if (failure != null) {
+                throw new UncheckedIOException("Round log writer failed", failure);
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        ring[(int) nextPublish & (RING_CAPACITY - 1)] = event;
+        published.lazySet(++nextPublish);
+    }
+
+    /**
+     * Retrieves the number of rounds appended so far.
+     *
+     * @return The number of rounds appended.
+     */
+    public int getRoundsAppended() {
+        return nextRound;
+    }
+
+    /**
+     * Waits for every appended round to be written, then closes the file.
+     *
+     * @throws IOException If writing or closing the file failed.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Helper method: The writer thread's loop, which moves rounds from the ring buffer to the file.
+     */
+    private void drain() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+        long next = 0;
+        try {
+            while (true) {
+                long available = published.get();
+                if (next == available) {
+                    flush(buffer);
+                    if (closed && next == published.get()) {
+                        break;
+                    }
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    continue;
+                }
+                while (next < available) {
+                    if (buffer.remaining() < RECORD_SIZE) {
+                        flush(buffer);
+                    }
+                    encode(ring[(int) next & (RING_CAPACITY - 1)], buffer);
+                    next++;
+                    consumed.lazySet(next);
+                }
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    /**
+     * Helper method: Encodes a packed round into its fixed-width record.
+     *
+     * @param event The packed round from the ring buffer.
+     * @param buffer The buffer to write the record into.
+     */
+    private void encode(long event, ByteBuffer buffer) {
+        buffer.putInt(session);
+        buffer.putInt((int) (event >>> 32));
+        buffer.putShort((short) ((event >>> 18) & (MAX_MOVES - 1)));
+        buffer.putShort((short) ((event >>> 4) & (MAX_MOVES - 1)));
+        buffer.put((byte) ((event & 3) - 1));
+    }
+
+    /**
+     * Helper method: Writes the buffered records to the file.
+     *
+     * @param buffer The buffer holding the records.
+     * @throws IOException If the records cannot be written.
+     */
+    private void flush(ByteBuffer buffer) throws IOException {
+        if (buffer.position() == 0) {
+            return;
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
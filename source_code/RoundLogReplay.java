@@ -0,0 +1,161 @@
+package assignmentone;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Rebuilds the results of a session from the binary log written by a RoundLog.
+ * Every field read from the log is checked against the logged game before it is used, so a corrupt log,
+ * or one written for a different game of the same name, is reported with the offset of the bad field.
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 2.0
+ */
+public class RoundLogReplay {
+
+    private static final int READ_BUFFER_SIZE = RoundLog.RECORD_SIZE * 8192;
+
+    /**
+     * Receives the rounds read from a log, in the order they were played.
+     */
+    public interface RoundVisitor {
+
+        /**
+         * Called once for every round in the log.
+         *
+         * @param session The id of the session the round belongs to.
+         * @param round The index of the round within its session.
+         * @param computerIndex The index of the move chosen by the computer.
+         * @param playerIndex The index of the move chosen by the player.
+         * @param outcome The outcome of the round (+1 for a computer win, -1 for a computer loss, 0 for a draw).
+         */
+        void visit(int session, int round, int computerIndex, int playerIndex, int outcome);
+    }
+
+    /**
+     * Replays a log file and prints the rebuilt report.
+     * Expects the log file, e.g. {@code session.rpsl}.
+     *
+     * @param args Command line arguments: the log file to replay.
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Usage: RoundLogReplay <logFile>");
+            return;
+        }
+        Reporter reporter;
+        try {
+            reporter = replay(Paths.get(args[0]), GameRegistry.getDefault());
+        } catch (IOException e) {
+            System.out.println("ERROR: " + e.getMessage());
+            return;
+        }
+        System.out.println();
+        System.out.println("### REPLAYED REPORT ###");
+        System.out.println();
+        System.out.println(reporter.generateReport());
+    }
+
+    /**
+     * Rebuilds a Reporter from every round in a log file.
+     *
+     * @param file The log file to replay.
+     * @param registry The registry holding the game the log was written for.
+     * @return A Reporter holding the results of every logged round.
+     * @throws IOException If the log cannot be read or its game is unknown.
+     */
+    public static Reporter replay(Path file, GameRegistry registry) throws IOException {
+        Reporter[] reporter = new Reporter[1];
+        read(file, registry, game -> reporter[0] = new Reporter(game.getValidMoves()),
+                (session, round, computerIndex, playerIndex, outcome) ->
+                        reporter[0].record(computerIndex, playerIndex, outcome));
+        return reporter[0];
+    }
+
+    /**
+     * Reads a log file and hands every round to the visitor.
+     *
+     * @param file The log file to read.
+     * @param registry The registry holding the game the log was written for.
+     * @param onGame Called with the logged game before any round is visited.
+     * @param visitor Receives every round in the log.
+     * @throws IOException If the log cannot be read, its game is unknown or one of its fields is out of range.
+     */
+    public static void read(Path file, GameRegistry registry, Consumer<GameDefinition> onGame,
+                            RoundVisitor visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+            if (!fill(channel, buffer, 7)) {
+                throw new IOException(file + " ends in the middle of its header.");
+            }
+            if (buffer.getInt() != RoundLog.MAGIC || buffer.get() != RoundLog.VERSION) {
+                throw new IOException(file + " is not a round log.");
+            }
+            int nameLength = Short.toUnsignedInt(buffer.getShort());
+            buffer.compact();
+            if (!fill(channel, buffer, nameLength + 4)) {
+                throw new IOException(file + " ends in the middle of its header.");
+            }
+            byte[] name = new byte[nameLength];
+            buffer.get(name);
+            buffer.getInt(); // The session id; every record carries it as well.
+
+            GameDefinition game = registry.get(new String(name, StandardCharsets.UTF_8));
+            if (game == null) {
+                throw new IOException(file + " was written for an unknown game.");
+            }
+            onGame.accept(game);
+
+            buffer.compact();
+            int size = game.size();
+            long offset = 7 + nameLength + 4;
+            while (fill(channel, buffer, RoundLog.RECORD_SIZE)) {
+                while (buffer.remaining() >= RoundLog.RECORD_SIZE) {
+                    int session = buffer.getInt();
+                    int round = buffer.getInt();
+                    int computerIndex = buffer.getShort();
+                    int playerIndex = buffer.getShort();
+                    int outcome = buffer.get();
+                    if (computerIndex < 0 || computerIndex >= size || playerIndex < 0 || playerIndex >= size) {
+                        throw new IOException(file + ": the record at offset " + offset + " holds a move outside "
+                                + game.getName() + "'s " + size + " moves.");
+                    }
+                    if (outcome < -1 || outcome > 1) {
+                        throw new IOException(file + ": the record at offset " + offset + " holds the outcome "
+                                + outcome + ", which is not -1, 0 or 1.");
+                    }
+                    visitor.visit(session, round, computerIndex, playerIndex, outcome);
+                    offset += RoundLog.RECORD_SIZE;
+                }
+                buffer.compact();
+            }
+        }
+    }
+
+    /**
+     * Helper method: Reads from the channel until the buffer holds at least the given number of bytes,
+     * then flips the buffer for reading.
+     *
+     * @param channel The channel to read from.
+     * @param buffer The buffer in write mode.
+     * @param needed The number of bytes needed.
+     * @return {@code true} if enough bytes were read, {@code false} if the file ended first.
+     * @throws IOException If the channel cannot be read.
+     */
+    private static boolean fill(FileChannel channel, ByteBuffer buffer, int needed) throws IOException {
+        while (buffer.position() < needed) {
+            if (channel.read(buffer) < 0) {
+                buffer.flip();
+                return false;
+            }
+        }
+        buffer.flip();
+        return true;
+    }
+}
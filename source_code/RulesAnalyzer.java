@@ -0,0 +1,783 @@
+package assignmentone;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Checks the properties of a rules matrix and describes its structure, so that generated games with
+ * hundreds of moves can be validated before they are played.
+ *
+ * <p>The checks are antisymmetry (a move beats another exactly when it loses to it), that every move
+ * beats some move and loses to some move, and balance (every move beats as many moves as it loses to).
+ * The structure covers ties off the diagonal, dominated moves, the number of 3-cycles and the strongly
+ * connected components of the "beats" graph.</p>
+ *
+ * <p>Every row is kept as two bitsets, the moves it beats and the moves it loses to, plus the transposed
+ * bitset of the moves that beat it, built 64 x 64 bits at a time. The rules are antisymmetric exactly when
+ * every move loses to the moves that beat it, so that check compares whole rows a word at a time, and so do
+ * dominance and the 3-cycle count. Everything but the components runs in parallel over blocks of 64 rows on
+ * a fork-join pool, so a 1000 x 1000 matrix takes milliseconds.</p>
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 1.0
+ */
+public class RulesAnalyzer {
+
+    private static final int BLOCK_ROWS = 64; // One word of columns, so blocks can be transposed in place.
+    private static final int MAX_LISTED = 10;
+    private static final int CANDIDATE_FILTERS = 8;
+
+    private final int size;
+    private final int words;
+    private final long[] wins;
+    private final long[] losses;
+    private final long[] beatenBy;
+    private final int[] winCounts;
+    private final int[] lossCounts;
+    private final int[] tieCounts;
+    private final int[] asymmetricCounts;
+    private final int[] firstAsymmetric;
+    private final int[] dominators;
+    private final int[] dominatorCounts;
+    private final long[] cycleCounts;
+    private final int[] components;
+    private final int componentCount;
+    private final long elapsedNanos;
+
+    /**
+     * Analyzes a rules matrix on the common fork-join pool.
+     *
+     * @param rules The rules to analyze.
+     */
+    public RulesAnalyzer(RulesMatrix rules) {
+        this(rules, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Analyzes a rules matrix on the given fork-join pool.
+     *
+     * @param rules The rules to analyze.
+     * @param pool The pool the blocks of rows are analyzed on.
+     */
+    public RulesAnalyzer(RulesMatrix rules, ForkJoinPool pool) {
+        long start = System.nanoTime();
+        this.size = rules.size();
+        this.words = (size + 63) >>> 6;
+        this.wins = new long[size * words];
+        this.losses = new long[size * words];
+        this.beatenBy = new long[size * words];
+        this.winCounts = new int[size];
+        this.lossCounts = new int[size];
+        this.tieCounts = new int[size];
+        this.asymmetricCounts = new int[size];
+        this.firstAsymmetric = new int[size];
+        this.dominators = new int[size];
+        this.dominatorCounts = new int[size];
+        this.cycleCounts = new long[size];
+        this.components = new int[size];
+
+        forEachBlock(pool, (first, last) -> readRows(rules, first, last));
+        forEachBlock(pool, this::transposeRows);
+        forEachBlock(pool, (first, last) -> {
+            checkSymmetry(first, last);
+            findDominators(first, last);
+        });
+        if (isAntisymmetric() && getTies() == 0) {
+            countTournamentCycles();
+        } else {
+            forEachBlock(pool, this::countCycles);
+        }
+        this.componentCount = findComponents();
+        this.elapsedNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * The entry point for analyzing the rules of registered games.
+     * Prints the rules matrix of every game small enough to display, followed by its analysis.
+     *
+     * @param args Command line arguments: the game types to analyze, or none for every registered game.
+     */
+    public static void main(String[] args) {
+        GameRegistry registry = GameRegistry.getDefault();
+        List<String> gameTypes = args.length > 0 ? List.of(args) : registry.getGameTypes();
+        for (String gameType : gameTypes) {
+            GameDefinition game = registry.get(gameType);
+            if (game == null) {
+                System.out.println("ERROR: Unknown game type " + gameType);
+                continue;
+            }
+            System.out.println();
+            System.out.println("### RULES for " + game.getName().toUpperCase() + " ###");
+            System.out.println();
+            if (game.size() <= RulesMatrix.PACKED_THRESHOLD) {
+                System.out.println(new Formatter(game.getValidMoves(), game.getRules()).displayMatrix());
+            }
+            System.out.print(new RulesAnalyzer(game.getRules()).describe(game.getValidMoves()));
+        }
+    }
+
+    /**
+     * Retrieves the number of moves of the analyzed rules.
+     *
+     * @return The number of moves.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the rules are antisymmetric: every move draws with itself, and a move beats another
+     * exactly when it loses to it.
+     *
+     * @return {@code true} if the rules are antisymmetric.
+     */
+    public boolean isAntisymmetric() {
+        return sum(asymmetricCounts) == 0;
+    }
+
+    /**
+     * Retrieves the number of entries that break antisymmetry: entries (i, j) where i loses to j
+     * but j does not beat i, or the other way around.
+     *
+     * @return The number of asymmetric entries.
+     */
+    public long getAsymmetricEntries() {
+        return sum(asymmetricCounts);
+    }
+
+    /**
+     * Checks whether every move beats at least one move and loses to at least one move,
+     * so that no move is always safe to play or never worth playing.
+     *
+     * @return {@code true} if every move can both win and lose.
+     */
+    public boolean isEveryMoveBeatable() {
+        for (int i = 0; i < size; i++) {
+            if (winCounts[i] == 0 || lossCounts[i] == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether the rules are balanced: every move beats as many moves as it loses to.
+     *
+     * @return {@code true} if the rules are balanced.
+     */
+    public boolean isBalanced() {
+        for (int i = 0; i < size; i++) {
+            if (winCounts[i] != lossCounts[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether the rules pass the checks needed to be played: antisymmetry, and every move beating
+     * and losing to some move. Balance is not required; unbalanced games are played with weights.
+     *
+     * @return {@code true} if the rules are valid.
+     */
+    public boolean isValid() {
+        return isAntisymmetric() && isEveryMoveBeatable();
+    }
+
+    /**
+     * Retrieves the number of pairs of different moves that draw with each other, as seen from the row
+     * of the first move of each pair.
+     *
+     * @return The number of ties off the diagonal.
+     */
+    public long getTies() {
+        return sum(tieCounts);
+    }
+
+    /**
+     * Retrieves the number of moves a move beats.
+     *
+     * @param move The index of the move.
+     * @return The number of wins of its row.
+     */
+    public int getWins(int move) {
+        return winCounts[move];
+    }
+
+    /**
+     * Retrieves the number of moves a move loses to.
+     *
+     * @param move The index of the move.
+     * @return The number of losses of its row.
+     */
+    public int getLosses(int move) {
+        return lossCounts[move];
+    }
+
+    /**
+     * Finds a move that dominates the given move: against every move it does at least as well,
+     * and against some move it does better.
+     *
+     * @param move The index of the move.
+     * @return The index of the first move dominating it, or -1 if it is not dominated.
+     */
+    public int getDominator(int move) {
+        return dominators[move];
+    }
+
+    /**
+     * Retrieves the number of ordered pairs of moves where the first dominates the second.
+     *
+     * @return The number of dominance relations.
+     */
+    public long getDominancePairs() {
+        return sum(dominatorCounts);
+    }
+
+    /**
+     * Retrieves the number of 3-cycles, i.e. sets of three moves where each beats the next, like rock,
+     * paper and scissors.
+     *
+     * @return The number of 3-cycles.
+     */
+    public long getThreeCycles() {
+        long total = 0;
+        for (long count : cycleCounts) {
+            total += count;
+        }
+        return total / 3;
+    }
+
+    /**
+     * Retrieves the number of strongly connected components of the "beats" graph.
+     * A single component means every move can be reached from every other through a chain of wins.
+     *
+     * @return The number of components.
+     */
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    /**
+     * Retrieves the component of a move. Components are numbered from the strongest, whose moves are
+     * beaten by no move of a later component, to the weakest.
+     *
+     * @param move The index of the move.
+     * @return The number of its component.
+     */
+    public int getComponent(int move) {
+        return components[move];
+    }
+
+    /**
+     * Retrieves the time the analysis took.
+     *
+     * @return The elapsed time in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Describes the results of every check and the structure of the rules.
+     *
+     * @param validMoves The list of valid moves of the game.
+     * @return A multi-line report of the analysis.
+     */
+    public String describe(List<String> validMoves) {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format("%d moves analyzed in %.3f ms\n", size, elapsedNanos / 1e6));
+        builder.append(String.format("%-22s %s\n", "Valid:", yesNo(isValid())));
+
+        List<String> listed = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (firstAsymmetric[i] >= 0) {
+                add(listed, validMoves.get(i) + "-" + validMoves.get(firstAsymmetric[i]));
+            }
+        }
+        builder.append(String.format("%-22s %s\n", "Antisymmetric:",
+                isAntisymmetric() ? "yes" : "no, " + getAsymmetricEntries() + " entries: " + list(listed, getAsymmetricEntries())));
+
+        listed.clear();
+        int unbeatable = 0;
+        for (int i = 0; i < size; i++) {
+            if (winCounts[i] == 0 || lossCounts[i] == 0) {
+                unbeatable++;
+                add(listed, validMoves.get(i) + (winCounts[i] == 0 ? " never wins" : " never loses"));
+            }
+        }
+        builder.append(String.format("%-22s %s\n", "Every move wins/loses:",
+                unbeatable == 0 ? "yes" : "no, " + list(listed, unbeatable)));
+
+        listed.clear();
+        int unbalanced = 0;
+        for (int i = 0; i < size; i++) {
+            if (winCounts[i] != lossCounts[i]) {
+                unbalanced++;
+                add(listed, validMoves.get(i) + " " + winCounts[i] + "-" + lossCounts[i]);
+            }
+        }
+        builder.append(String.format("%-22s %s\n", "Balanced:",
+                unbalanced == 0 ? "yes" : "no, wins-losses " + list(listed, unbalanced)));
+
+        listed.clear();
+        for (int i = 0; i < size; i++) {
+            for (int j = i + 1; j < size && listed.size() <= MAX_LISTED; j++) {
+                if (isTie(i, j)) {
+                    add(listed, validMoves.get(i) + "-" + validMoves.get(j));
+                }
+            }
+        }
+        builder.append(String.format("%-22s %s\n", "Ties off the diagonal:",
+                getTies() == 0 ? "none" : getTies() + " pairs: " + list(listed, getTies())));
+
+        listed.clear();
+        int dominated = 0;
+        for (int i = 0; i < size; i++) {
+            if (dominators[i] >= 0) {
+                dominated++;
+                add(listed, validMoves.get(i) + " by " + validMoves.get(dominators[i]));
+            }
+        }
+        builder.append(String.format("%-22s %s\n", "Dominated moves:",
+                dominated == 0 ? "none" : dominated + " (" + getDominancePairs() + " relations): " + list(listed, dominated)));
+
+        builder.append(String.format("%-22s %d\n", "3-cycles:", getThreeCycles()));
+
+        builder.append(String.format("%-22s %s\n", "Strongly connected:", componentCount == 1 ? "yes"
+                : "no, " + componentCount + " components from strongest to weakest: " + listComponents(validMoves)));
+        return builder.toString();
+    }
+
+    /**
+     * A task over a block of consecutive rows.
+     */
+    private interface RowBlock {
+
+        /**
+         * Processes the rows of a block.
+         *
+         * @param first The first row of the block.
+         * @param last The row after the last row of the block.
+         */
+        void run(int first, int last);
+    }
+
+    /**
+     * Helper method: Runs a task over every block of rows in parallel and waits for all of them.
+     *
+     * @param pool The pool to run the blocks on.
+     * @param task The task to run on every block.
+     */
+    private void forEachBlock(ForkJoinPool pool, RowBlock task) {
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (int first = 0; first < size; first += BLOCK_ROWS) {
+            int blockFirst = first;
+            int blockLast = Math.min(size, first + BLOCK_ROWS);
+            tasks.add(pool.submit(() -> task.run(blockFirst, blockLast)));
+        }
+        for (ForkJoinTask<?> block : tasks) {
+            block.join();
+        }
+    }
+
+    /**
+     * Helper method: Reads the outcomes of a block of rows into the win and loss bitsets.
+     * The rules hand over their rows as bitsets 64 cells at a time, which packed rules do straight from their words.
+     *
+     * @param rules The rules being analyzed.
+     * @param first The first row of the block.
+     * @param last The row after the last row of the block.
+     */
+    private void readRows(RulesMatrix rules, int first, int last) {
+        long[] bits = new long[2];
+        for (int i = first; i < last; i++) {
+            int row = i * words;
+            for (int w = 0; w < words; w++) {
+                rules.getRowBits(i, w, bits);
+                long winBits = bits[0];
+                long lossBits = bits[1];
+                wins[row + w] = winBits;
+                losses[row + w] = lossBits;
+                winCounts[i] += Long.bitCount(winBits);
+                lossCounts[i] += Long.bitCount(lossBits);
+                tieCounts[i] += Long.bitCount(~(winBits | lossBits) & columnsAfter(i, w) & columnsOf(w));
+            }
+        }
+    }
+
+    /**
+     * Helper method: Fills the transposed win bitsets, the moves that beat each move, for the columns
+     * that a block of rows covers. Every 64 x 64 square of bits is transposed at once.
+     *
+     * @param first The first row of the block; a multiple of 64.
+     * @param last The row after the last row of the block.
+     */
+    private void transposeRows(int first, int last) {
+        long[] square = new long[64];
+        int block = first >>> 6;
+        for (int w = 0; w < words; w++) {
+            for (int r = 0; r < 64; r++) {
+                square[r] = first + r < last ? wins[(first + r) * words + w] : 0;
+            }
+            transpose(square);
+            int end = Math.min(size - (w << 6), 64);
+            for (int c = 0; c < end; c++) {
+                beatenBy[((w << 6) + c) * words + block] = square[c];
+            }
+        }
+    }
+
+    /**
+     * Helper method: Counts the asymmetric entries of a block of rows.
+     * The rules are antisymmetric exactly when the moves each move loses to are the moves that beat it.
+     *
+     * @param first The first row of the block.
+     * @param last The row after the last row of the block.
+     */
+    private void checkSymmetry(int first, int last) {
+        for (int i = first; i < last; i++) {
+            int row = i * words;
+            firstAsymmetric[i] = -1;
+            for (int w = 0; w < words; w++) {
+                long differences = losses[row + w] ^ beatenBy[row + w];
+                if (differences != 0) {
+                    asymmetricCounts[i] += Long.bitCount(differences);
+                    if (firstAsymmetric[i] < 0) {
+                        firstAsymmetric[i] = (w << 6) + Long.numberOfTrailingZeros(differences);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Helper method: Finds the moves dominating each move of a block.
+     * Move i dominates move k when it beats every move k beats and loses only to moves k loses to,
+     * and differs from k somewhere. A dominator of k beats every move k beats, so only the moves that beat
+     * the first few of them are candidates for the full comparison.
+     *
+     * @param first The first row of the block.
+     * @param last The row after the last row of the block.
+     */
+    private void findDominators(int first, int last) {
+        long[] candidates = new long[words];
+        for (int k = first; k < last; k++) {
+            dominators[k] = -1;
+            int rowK = k * words;
+            for (int w = 0; w < words; w++) {
+                candidates[w] = columnsOf(w);
+            }
+            candidates[k >>> 6] &= ~(1L << k);
+            int narrowed = 0;
+            for (int w = 0; w < words && narrowed < CANDIDATE_FILTERS; w++) {
+                for (long bits = wins[rowK + w]; bits != 0 && narrowed < CANDIDATE_FILTERS; bits &= bits - 1) {
+                    int rowJ = ((w << 6) + Long.numberOfTrailingZeros(bits)) * words;
+                    for (int v = 0; v < words; v++) {
+                        candidates[v] &= beatenBy[rowJ + v];
+                    }
+                    narrowed++;
+                }
+            }
+
+            for (int c = 0; c < words; c++) {
+                for (long bits = candidates[c]; bits != 0; bits &= bits - 1) {
+                    int i = (c << 6) + Long.numberOfTrailingZeros(bits);
+                    if (winCounts[i] < winCounts[k] || lossCounts[i] > lossCounts[k]) {
+                        continue;
+                    }
+                    checkDominance(i, k);
+                }
+            }
+        }
+    }
+
+    /**
+     * Helper method: Counts move i as a dominator of move k if it is one.
+     *
+     * @param i The candidate dominator.
+     * @param k The move that may be dominated.
+     */
+    private void checkDominance(int i, int k) {
+        int rowI = i * words;
+        int rowK = k * words;
+        boolean dominates = true;
+        boolean differs = false;
+        for (int w = 0; w < words && dominates; w++) {
+            long winsI = wins[rowI + w];
+            long winsK = wins[rowK + w];
+            long lossesI = losses[rowI + w];
+            long lossesK = losses[rowK + w];
+            dominates = (winsK & ~winsI) == 0 && (lossesI & ~lossesK) == 0;
+            differs |= winsI != winsK || lossesI != lossesK;
+        }
+        if (dominates && differs) {
+            dominatorCounts[k]++;
+            if (dominators[k] < 0) {
+                dominators[k] = i;
+            }
+        }
+    }
+
+    /**
+     * Helper method: Counts the 3-cycles through each move of a block.
+     * For every move j that i beats, the moves that j beats and that beat i close a cycle.
+     *
+     * @param first The first row of the block.
+     * @param last The row after the last row of the block.
+     */
+    private void countCycles(int first, int last) {
+        for (int i = first; i < last; i++) {
+            int rowI = i * words;
+            long count = 0;
+            for (int w = 0; w < words; w++) {
+                for (long bits = wins[rowI + w]; bits != 0; bits &= bits - 1) {
+                    int j = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    int rowJ = j * words;
+                    for (int v = 0; v < words; v++) {
+                        count += Long.bitCount(wins[rowJ + v] & beatenBy[rowI + v]);
+                    }
+                }
+            }
+            cycleCounts[i] = count;
+        }
+    }
+
+    /**
+     * Helper method: Counts the 3-cycles of a tournament, where every pair of different moves has a winner.
+     * Three moves that do not form a cycle have exactly one move beating the other two, so the number of
+     * cycles is the number of triples minus, for every move, the number of pairs of moves it beats.
+     * The count is spread over the moves so that it sums up like the general count.
+     */
+    private void countTournamentCycles() {
+        long cycles = (long) size * (size - 1) * (size - 2) / 6;
+        for (int i = 0; i < size; i++) {
+            cycles -= (long) winCounts[i] * (winCounts[i] - 1) / 2;
+        }
+        if (size > 0) {
+            cycleCounts[0] = 3 * cycles;
+        }
+    }
+
+    /**
+     * Helper method: Finds the strongly connected components of the "beats" graph with Kosaraju's algorithm.
+     * The first pass orders the moves by when their depth-first search finishes, and the second pass
+     * collects the components over the transposed graph in reverse finishing order, from the strongest.
+     *
+     * @return The number of components.
+     */
+    private int findComponents() {
+        int[] order = new int[size];
+        int ordered = 0;
+        int[] stack = new int[size];
+        long[] unvisited = new long[words];
+        for (int i = 0; i < size; i++) {
+            unvisited[i >>> 6] |= 1L << i;
+        }
+
+        for (int start = 0; start < size; start++) {
+            if ((unvisited[start >>> 6] & (1L << start)) == 0) {
+                continue;
+            }
+            unvisited[start >>> 6] &= ~(1L << start);
+            int depth = 0;
+            stack[depth++] = start;
+            while (depth > 0) {
+                int next = nextUnvisited(wins, stack[depth - 1], unvisited);
+                if (next < 0) {
+                    order[ordered++] = stack[--depth];
+                } else {
+                    unvisited[next >>> 6] &= ~(1L << next);
+                    stack[depth++] = next;
+                }
+            }
+        }
+
+        for (int i = 0; i < size; i++) {
+            unvisited[i >>> 6] |= 1L << i;
+        }
+        int count = 0;
+        for (int k = size - 1; k >= 0; k--) {
+            int start = order[k];
+            if ((unvisited[start >>> 6] & (1L << start)) == 0) {
+                continue;
+            }
+            unvisited[start >>> 6] &= ~(1L << start);
+            int depth = 0;
+            stack[depth++] = start;
+            while (depth > 0) {
+                int move = stack[--depth];
+                components[move] = count;
+                for (int next = nextUnvisited(beatenBy, move, unvisited); next >= 0;
+                        next = nextUnvisited(beatenBy, move, unvisited)) {
+                    unvisited[next >>> 6] &= ~(1L << next);
+                    stack[depth++] = next;
+                }
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Helper method: Finds the first unvisited move in a row of a bitset graph.
+     *
+     * @param graph The bitsets of the graph.
+     * @param move The move whose row is searched.
+     * @param unvisited The bitset of unvisited moves.
+     * @return The first unvisited neighbour, or -1 if there is none.
+     */
+    private int nextUnvisited(long[] graph, int move, long[] unvisited) {
+        int row = move * words;
+        for (int w = 0; w < words; w++) {
+            long bits = graph[row + w] & unvisited[w];
+            if (bits != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(bits);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Helper method: Transposes a 64 x 64 square of bits in place, where bit c of word r holds row r, column c.
+     * Each step swaps the off-diagonal quarters of every square half as large as the previous one.
+     *
+     * @param square The 64 words of the square.
+     */
+    private static void transpose(long[] square) {
+        long mask = 0x00000000FFFFFFFFL;
+        for (int j = 32; j != 0; j >>>= 1, mask ^= mask << j) {
+            for (int k = 0; k < 64; k = ((k | j) + 1) & ~j) {
+                long t = ((square[k] >>> j) ^ square[k | j]) & mask;
+                square[k] ^= t << j;
+                square[k | j] ^= t;
+            }
+        }
+    }
+
+    /**
+     * Helper method: Masks the columns of a word that exist in the matrix.
+     *
+     * @param w The index of the word.
+     * @return The mask of its columns below the size of the matrix.
+     */
+    private long columnsOf(int w) {
+        int columns = size - (w << 6);
+        return columns >= 64 ? -1L : (1L << columns) - 1;
+    }
+
+    /**
+     * Helper method: Masks the columns of a word that come after a given column.
+     *
+     * @param column The column.
+     * @param w The index of the word.
+     * @return The mask of the word's columns greater than the column.
+     */
+    private static long columnsAfter(int column, int w) {
+        int first = column + 1 - (w << 6);
+        if (first <= 0) {
+            return -1L;
+        }
+        return first >= 64 ? 0 : -1L << first;
+    }
+
+    /**
+     * Helper method: Checks a bit of a row of a bitset.
+     *
+     * @param bitset The bitsets of every row.
+     * @param row The row.
+     * @param column The column.
+     * @return {@code true} if the bit is set.
+     */
+    private boolean isSet(long[] bitset, int row, int column) {
+        return (bitset[row * words + (column >>> 6)] & (1L << column)) != 0;
+    }
+
+    /**
+     * Helper method: Checks whether two different moves draw with each other, from the first move's row.
+     *
+     * @param i The first move.
+     * @param j The second move.
+     * @return {@code true} if neither beats the other in row i.
+     */
+    private boolean isTie(int i, int j) {
+        return !isSet(wins, i, j) && !isSet(losses, i, j);
+    }
+
+    /**
+     * Helper method: Adds an item to a list of examples, unless it is already full.
+     *
+     * @param listed The list of examples.
+     * @param item The item to add.
+     */
+    private static void add(List<String> listed, String item) {
+        if (listed.size() < MAX_LISTED) {
+            listed.add(item);
+        }
+    }
+
+    /**
+     * Helper method: Joins a list of examples, noting how many more there are.
+     *
+     * @param listed The list of examples.
+     * @param total The total number of items the examples are taken from.
+     * @return The examples separated by commas.
+     */
+    private static String list(List<String> listed, long total) {
+        String joined = String.join(", ", listed);
+        return total > listed.size() ? joined + ", ... " + (total - listed.size()) + " more" : joined;
+    }
+
+    /**
+     * Helper method: Lists the moves of every component, from the strongest.
+     *
+     * @param validMoves The list of valid moves of the game.
+     * @return The components in braces, separated by {@code >}.
+     */
+    private String listComponents(List<String> validMoves) {
+        List<List<String>> members = new ArrayList<>();
+        for (int c = 0; c < Math.min(componentCount, MAX_LISTED); c++) {
+            members.add(new ArrayList<>());
+        }
+        for (int i = 0; i < size; i++) {
+            if (components[i] < members.size()) {
+                List<String> component = members.get(components[i]);
+                if (component.size() < MAX_LISTED) {
+                    component.add(validMoves.get(i));
+                }
+            }
+        }
+        List<String> listed = new ArrayList<>();
+        for (List<String> component : members) {
+            listed.add("{" + String.join(",", component) + "}");
+        }
+        String joined = String.join(" > ", listed);
+        return componentCount > listed.size() ? joined + " > ... " + (componentCount - listed.size()) + " more" : joined;
+    }
+
+    /**
+     * Helper method: Sums the per-row counts of a check.
+     *
+     * @param counts The counts of every row.
+     * @return The total.
+     */
+    private static long sum(int[] counts) {
+        long total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Helper method: Spells out a check result.
+     *
+     * @param value The result.
+     * @return {@code yes} or {@code no}.
+     */
+    private static String yesNo(boolean value) {
+        return value ? "yes" : "no";
+    }
+}
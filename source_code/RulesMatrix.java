@@ -0,0 +1,83 @@
+package assignmentone;
+
+/**
+ * Gives read access to a game's rules: the outcome of every pair of moves, indexed by move.
+ * Small games keep a plain matrix, while large games use a packed representation that fits in cache.
+ * Rows can also be read as bitsets of wins and losses, 64 moves at a time, for analyzing large games.
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 2.0
+ */
+public interface RulesMatrix {
+
+    /**
+     * Games with at least this many moves are stored in packed form by {@link #of(int[][])}.
+     */
+    int PACKED_THRESHOLD = 32;
+
+    /**
+     * Retrieves the number of moves covered by the rules.
+     *
+     * @return The number of rows and columns of the matrix.
+     */
+    int size();
+
+    /**
+     * Retrieves the outcome of a round based on the indices of the computer's and player's moves.
+     *
+     * @param computerIndex The index of the move chosen by the computer.
+     * @param playerIndex The index of the move chosen by the player.
+     * @return The outcome value: +1 for computer win, -1 for computer loss, and 0 for a draw.
+     */
+    int getOutcome(int computerIndex, int playerIndex);
+
+    /**
+     * Retrieves 64 cells of a row as bitsets: bit c is set in the wins if the row's move beats move
+     * {@code 64 * word + c}, and in the losses if it loses to it. Cells past the last move are draws.
+     *
+     * @param row The index of the row's move.
+     * @param word The index of the group of 64 columns.
+     * @param bits Receives the wins at index 0 and the losses at index 1.
+     */
+    default void getRowBits(int row, int word, long[] bits) {
+        long winBits = 0;
+        long lossBits = 0;
+        int end = Math.min(size(), (word + 1) << 6);
+        for (int j = word << 6; j < end; j++) {
+            int outcome = Integer.signum(getOutcome(row, j));
+            winBits |= (long) ((outcome + 1) >> 1) << j;
+            lossBits |= (long) ((1 - outcome) >> 1) << j;
+        }
+        bits[0] = winBits;
+        bits[1] = lossBits;
+    }
+
+    /**
+     * Copies the rules into a plain matrix.
+     *
+     * @return A new matrix holding every outcome.
+     */
+    default int[][] toArray() {
+        int size = size();
+        int[][] matrix = new int[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                matrix[i][j] = getOutcome(i, j);
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Picks the representation that suits the size of the given rules.
+     *
+     * @param matrix The matrix that holds the game's rules.
+     * @return A DenseRules view for small games, or a PackedRules copy for large ones.
+     */
+    static RulesMatrix of(int[][] matrix) {
+        if (matrix.length >= PACKED_THRESHOLD) {
+            return new PackedRules(matrix);
+        }
+        return new DenseRules(matrix);
+    }
+}
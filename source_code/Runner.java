@@ -1,14 +1,19 @@
 package assignmentone;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
-import java.util.Map;
 
 /**
  * The main orchestrator for the Rock-Paper-Scissors game and its variants.
  * It provides the main flow and control for game sessions and rounds.
+ * With {@code -Drps.snapshot=<file>}, the session in progress is snapshotted every few throws, and a session
+ * left unfinished by a restart is resumed from its snapshot the next time a game starts.
  *
  * @author Nikola Desnica (UNI: ndd2131)
- * @version 4.0
+ * @version 7.0
  */
 public class Runner {
 
@@ -26,9 +31,7 @@ public class Runner {
             playGame(talker);
         } while (talker.playAnotherGame());
 
-        System.out.println();
-        System.out.println("Thank you for playing!");
-        System.out.println();
+        talker.displayGoodbyeMessage();
     }
 
     /**
@@ -38,25 +41,49 @@ public class Runner {
      */
     public static void playGame(Talker talker) {
         talker.displayWelcomeMessage();
-        String gameType = talker.promptForGameType();
+        if (SessionSnapshot.FILE != null && Files.exists(Paths.get(SessionSnapshot.FILE))) {
+            try {
+                resumeGame(talker, SessionSnapshot.read(Paths.get(SessionSnapshot.FILE), GameRegistry.getDefault()));
+                return;
+            } catch (IOException e) {
+                talker.displayErrorMessage("The saved session could not be resumed: " + e.getMessage());
+            }
+        }
+        GameRegistry registry = GameRegistry.getDefault();
+        String gameType = talker.promptForGameType(registry);
 
-        GameConfig.setCurrentGameType(gameType);
-        int[][] rulesMatrix = GameConfig.getMatrixForGame(gameType);
-        List<String> validMoves = GameConfig.getValidMovesForGame(gameType);
-        Map<String, Integer> weights = GameConfig.getWeightsForGame(gameType);
+        GameDefinition game = registry.get(gameType);
+        List<String> validMoves = game.getValidMoves();
 
-        talker.displayRules(gameType, rulesMatrix, validMoves);
+        talker.displayRules(gameType, game.getRules(), validMoves);
 
-        GameKeeper gameKeeper = new GameKeeper(rulesMatrix, validMoves);
-        int size = validMoves.size();
-        int[][] emptyResultMatrix = new int[size][size];
+        GameKeeper gameKeeper = new GameKeeper(game);
 
-        Thinker thinker = new Thinker(weights);
+        Thinker thinker = new Thinker(validMoves, game.getWeights());
         Referee referee = new Referee();
-        Reporter reporter = new Reporter(validMoves, emptyResultMatrix);
+        Reporter reporter = new Reporter(validMoves);
 
         int numberOfRounds = talker.getNumberOfRounds();
-        playRounds(talker, thinker, referee, gameKeeper, reporter, numberOfRounds, validMoves);
+        playRounds(talker, thinker, referee, gameKeeper, reporter, numberOfRounds, game);
+
+        String report = reporter.generateReport();
+        talker.displayReport(report);
+    }
+
+    /**
+     * Helper method: Continues a snapshotted game session with the rounds it has left.
+     *
+     * @param talker The Talker instance for displaying messages and capturing user input.
+     * @param snapshot The restored session.
+     */
+    private static void resumeGame(Talker talker, SessionSnapshot snapshot) {
+        GameDefinition game = snapshot.getGame();
+        talker.displayRules(game.getName(), game.getRules(), game.getValidMoves());
+        talker.displayResumeMessage(game.getName(), snapshot.getRoundsPlayed(), snapshot.getNumberOfRounds());
+
+        Reporter reporter = snapshot.getReporter();
+        playRounds(talker, snapshot.getThinker(), new Referee(), new GameKeeper(game), reporter,
+                snapshot.getNumberOfRounds(), snapshot.getRoundsPlayed(), game);
 
         String report = reporter.generateReport();
         talker.displayReport(report);
@@ -64,33 +91,91 @@ public class Runner {
 
     /**
      * Plays multiple rounds within a game session.
+     * With metrics enabled, the session counts as active while its rounds are played.
      *
      * @param talker The Talker instance for displaying messages and capturing user input.
      * @param thinker The Thinker instance for computer move generation.
      * @param referee The Referee instance for determining round outcomes.
      * @param reporter The Reporter instance for generating the final report.
      * @param numberOfRounds The number of rounds to play.
-     * @param validMoves The list of valid moves for the current game.
+     * @param game The definition of the current game.
+     */
+    public static void playRounds(Talker talker, Thinker thinker, Referee referee, GameKeeper gameKeeper, Reporter reporter, int numberOfRounds, GameDefinition game) {
+        playRounds(talker, thinker, referee, gameKeeper, reporter, numberOfRounds, 0, game);
+    }
+
+    /**
+     * Plays the remaining rounds of a game session that has already played some.
+     * With snapshots enabled, the session is snapshotted while it is played and the snapshot is removed
+     * once it is over.
+     *
+     * @param talker The Talker instance for displaying messages and capturing user input.
+     * @param thinker The Thinker instance for computer move generation.
+     * @param referee The Referee instance for determining round outcomes.
+     * @param reporter The Reporter instance for generating the final report.
+     * @param numberOfRounds The number of rounds of the session.
+     * @param roundsPlayed The number of rounds already played, not counting draws.
+     * @param game The definition of the current game.
+     */
+    public static void playRounds(Talker talker, Thinker thinker, Referee referee, GameKeeper gameKeeper, Reporter reporter, int numberOfRounds, int roundsPlayed, GameDefinition game) {
+        if (Metrics.ENABLED) {
+            Metrics.get().sessionStarted();
+        }
+        try {
+            playRoundsUntilDone(talker, thinker, referee, gameKeeper, reporter, numberOfRounds, roundsPlayed, game);
+            if (SessionSnapshot.FILE != null) {
+                Files.deleteIfExists(Paths.get(SessionSnapshot.FILE));
+            }
+        } catch (IOException e) {
+            talker.displayErrorMessage("The saved session could not be removed: " + e.getMessage());
+        } finally {
+            if (Metrics.ENABLED) {
+                Metrics.get().sessionEnded();
+            }
+        }
+    }
+
+    /**
+     * Helper method: Plays the rounds of a session until they are done or the player quits.
+     *
+     * @param talker The Talker instance for displaying messages and capturing user input.
+     * @param thinker The Thinker instance for computer move generation.
+     * @param referee The Referee instance for determining round outcomes.
+     * @param reporter The Reporter instance for generating the final report.
+     * @param numberOfRounds The number of rounds of the session.
+     * @param roundsPlayed The number of rounds already played, not counting draws.
+     * @param game The definition of the current game.
      */
-    public static void playRounds(Talker talker, Thinker thinker, Referee referee, GameKeeper gameKeeper, Reporter reporter, int numberOfRounds, List<String> validMoves) {
-        for (int i = 0; i < numberOfRounds; i++) {
+    private static void playRoundsUntilDone(Talker talker, Thinker thinker, Referee referee, GameKeeper gameKeeper, Reporter reporter, int numberOfRounds, int roundsPlayed, GameDefinition game) {
+        Path snapshotFile = SessionSnapshot.FILE == null ? null : Paths.get(SessionSnapshot.FILE);
+        int throwsSinceSnapshot = 0;
+        for (int i = roundsPlayed; i < numberOfRounds; i++) {
             String computerMove = thinker.getComputerMove();
-            String playerMove = talker.getPlayerMove(validMoves);
+            String playerMove = talker.getPlayerMove(game);
 
             if ("q".equalsIgnoreCase(playerMove)) {
                 break;
             }
 
-            List<String> outcome = referee.determineWinner(playerMove, computerMove, gameKeeper, reporter);
-            String message = outcome.get(0);
-            String isDraw = outcome.get(1);
+            int computerIndex = gameKeeper.indexOf(computerMove);
+            int playerIndex = gameKeeper.indexOf(playerMove);
+            int outcome = referee.determineWinner(playerIndex, computerIndex, gameKeeper, reporter);
+            thinker.observe(computerIndex, playerIndex);
 
-            if ("yes".equals(isDraw)) {
+            if (outcome == Referee.DRAW) {
                 i--;
-                reporter.incrementDraws();
             }
 
-            talker.displayRoundOutcome(message);
+            talker.displayRoundOutcome(referee.getMessage(outcome, playerMove, computerMove));
+
+            if (snapshotFile != null && ++throwsSinceSnapshot == SessionSnapshot.INTERVAL && i + 1 < numberOfRounds) {
+                throwsSinceSnapshot = 0;
+                try {
+                    SessionSnapshot.save(snapshotFile, game, thinker, reporter, numberOfRounds, i + 1);
+                } catch (IOException e) {
+                    talker.displayErrorMessage("The session could not be saved: " + e.getMessage());
+                }
+            }
         }
     }
 }
\ No newline at end of file
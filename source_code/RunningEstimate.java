@@ -0,0 +1,127 @@
+package assignmentone;
+
+/**
+ * A running estimate of the mean of a stream of values, with its variance and confidence interval,
+ * kept with Welford's online algorithm, so that it needs constant memory and stays accurate over
+ * billions of values. Runs of a repeated value, and other estimates, are combined in a single step
+ * with the parallel form of the algorithm by Chan, Golub and LeVeque.
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 1.0
+ */
+public final class RunningEstimate {
+
+    /**
+     * The normal quantile of a two-sided 95% confidence interval.
+     */
+    public static final double Z_95 = 1.959963984540054;
+
+    private long count;
+    private double mean;
+    private double squaredDeviations;
+
+    /**
+     * Adds a value to the estimate.
+     *
+     * @param value The value.
+     */
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        squaredDeviations += delta * (value - mean);
+    }
+
+    /**
+     * Adds the same value several times, in constant time.
+     *
+     * @param value The value.
+     * @param times The number of times it is added; nothing is added if it is not positive.
+     */
+    public void addRepeated(double value, long times) {
+        combine(times, value, 0.0);
+    }
+
+    /**
+     * Adds every value of another estimate to this one.
+     *
+     * @param other The estimate to add; it is left unchanged.
+     */
+    public void merge(RunningEstimate other) {
+        combine(other.count, other.mean, other.squaredDeviations);
+    }
+
+    /**
+     * Retrieves the number of values added.
+     *
+     * @return The number of values.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Retrieves the mean of the values added.
+     *
+     * @return The mean, or 0 if no values were added.
+     */
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Retrieves the sample variance of the values added.
+     *
+     * @return The variance, or 0 if fewer than two values were added.
+     */
+    public double getVariance() {
+        return count > 1 ? squaredDeviations / (count - 1) : 0.0;
+    }
+
+    /**
+     * Retrieves the standard error of the mean.
+     *
+     * @return The standard error, or infinity if fewer than two values were added.
+     */
+    public double getStandardError() {
+        return count > 1 ? Math.sqrt(getVariance() / count) : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Retrieves the half-width of the confidence interval of the mean, which is the mean plus or minus this value.
+     *
+     * @param z The normal quantile of the confidence level, e.g. {@link #Z_95}.
+     * @return The half-width, or infinity if fewer than two values were added.
+     */
+    public double getHalfWidth(double z) {
+        return z * getStandardError();
+    }
+
+    /**
+     * Formats the estimate as its mean and 95% confidence interval, e.g. {@code +0.0231 +/- 0.0049}.
+     *
+     * @return The formatted estimate.
+     */
+    @Override
+    public String toString() {
+        return String.format("%+.4f +/- %.4f", mean, getHalfWidth(Z_95));
+    }
+
+    /**
+     * Helper method: Combines a group of values, given by its count, mean and squared deviations, into the estimate.
+     *
+     * @param otherCount The number of values in the group.
+     * @param otherMean The mean of the group.
+     * @param otherSquaredDeviations The sum of the squared deviations of the group from its mean.
+     */
+    private void combine(long otherCount, double otherMean, double otherSquaredDeviations) {
+        if (otherCount <= 0) {
+            return;
+        }
+        long total = count + otherCount;
+        double delta = otherMean - mean;
+        mean += delta * otherCount / total;
+        squaredDeviations += otherSquaredDeviations + delta * delta * ((double) count * otherCount / total);
+        count = total;
+    }
+}
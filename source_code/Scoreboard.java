@@ -0,0 +1,203 @@
+package assignmentone;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A live scoreboard of one game type, totalling the results of every session that plays it.
+ * Any number of threads can record rounds at once without losing updates.
+ *
+ * <p>The counts are striped in the style of LongAdder: there is one block of counters per stripe, and
+ * each thread records into its own stripe. When an update collides with another thread's, the
+ * thread moves to another stripe for its next updates. The blocks are padded apart, so threads on
+ * different stripes never share a cache line. A round is a single increment of a single counter.
+ * So a snapshot never sees half a round, and its cells, totals and draws always agree with each
+ * other, while the writers keep going.</p>
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 1.0
+ */
+public class Scoreboard {
+
+    private static final int PADDING = 16; // 128 bytes, two cache lines apart
+    private static final int MAX_STRIPES = 64;
+    private static final int MAX_COUNTERS = 1 << 22;
+    private static final int COMPUTER_WIN = 0;
+    private static final int PLAYER_WIN = 1;
+    private static final int DRAW = 2;
+
+    private static final Map<GameDefinition, Scoreboard> BOARDS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<int[]> PROBE = ThreadLocal.withInitial(
+            () -> new int[] {(int) (Thread.currentThread().getId() * 0x9E3779B97F4A7C15L >>> 32) | 1});
+
+    private final List<String> validMoves;
+    private final int size;
+    private final int stride;
+    private final int stripeMask;
+    private final AtomicLongArray counts;
+
+    /**
+     * Constructs an empty Scoreboard with a stripe for every processor.
+     *
+     * @param validMoves The list of valid moves of the game.
+     */
+    public Scoreboard(List<String> validMoves) {
+        this(validMoves, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs an empty Scoreboard with the given number of stripes.
+     *
+     * @param validMoves The list of valid moves of the game.
+     * @param stripes The number of stripes, rounded up to a power of two and capped to bound the memory used.
+     */
+    public Scoreboard(List<String> validMoves, int stripes) {
+        this.validMoves = List.copyOf(validMoves);
+        this.size = validMoves.size();
+        this.stride = 3 * size * size + PADDING;
+        int wanted = Math.min(MAX_STRIPES, Math.max(1, stripes));
+        int limit = Math.max(1, Integer.highestOneBit(MAX_COUNTERS / stride));
+        int count = 1;
+        while (count < wanted && count < limit) {
+            count <<= 1;
+        }
+        this.stripeMask = count - 1;
+        this.counts = new AtomicLongArray(PADDING + count * stride);
+    }
+
+    /**
+     * Retrieves the shared scoreboard of a game, creating it on first use.
+     *
+     * @param game The definition of the game.
+     * @return The game's scoreboard.
+     */
+    public static Scoreboard of(GameDefinition game) {
+        return BOARDS.computeIfAbsent(game, definition -> new Scoreboard(definition.getValidMoves()));
+    }
+
+    /**
+     * Retrieves the list of valid moves of the game.
+     *
+     * @return The valid moves.
+     */
+    public List<String> getValidMoves() {
+        return validMoves;
+    }
+
+    /**
+     * Retrieves the number of stripes the counts are spread over.
+     *
+     * @return The number of stripes.
+     */
+    public int getStripes() {
+        return stripeMask + 1;
+    }
+
+    /**
+     * Counts one round.
+     *
+     * @param computerIndex The index of the move chosen by the computer.
+     * @param playerIndex The index of the move chosen by the player.
+     * @param outcome The outcome of the round (+1 for a computer win, -1 for a computer loss, 0 for a draw).
+     */
+    public void record(int computerIndex, int playerIndex, int outcome) {
+        add(counterOf(computerIndex, playerIndex, outcome), 1);
+    }
+
+    /**
+     * Adds every result and draw of a finished session.
+     * A snapshot taken while the session is being added may include only part of it.
+     *
+     * @param reporter The Reporter holding the session's results.
+     */
+    public void merge(Reporter reporter) {
+        ResultsTally tally = reporter.getTally();
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                add(counterOf(i, j, Referee.COMPUTER_WIN), tally.getComputerWins(i, j));
+                add(counterOf(i, j, Referee.PLAYER_WIN), tally.getPlayerWins(i, j));
+                add(counterOf(i, j, Referee.DRAW), tally.getDraws(i, j));
+            }
+        }
+    }
+
+    /**
+     * Takes a snapshot of the scoreboard, summing the stripes of every counter.
+     * Rounds recorded while the snapshot is taken may or may not be included.
+     *
+     * @return A Reporter holding the results at the time of the snapshot.
+     */
+    public Reporter snapshot() {
+        Reporter reporter = new Reporter(validMoves);
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                reporter.add(i, j, Referee.COMPUTER_WIN, sum(counterOf(i, j, Referee.COMPUTER_WIN)));
+                reporter.add(i, j, Referee.PLAYER_WIN, sum(counterOf(i, j, Referee.PLAYER_WIN)));
+                reporter.add(i, j, Referee.DRAW, sum(counterOf(i, j, Referee.DRAW)));
+            }
+        }
+        return reporter;
+    }
+
+    /**
+     * Generates the report of a snapshot of the scoreboard.
+     *
+     * @return The report as a String.
+     */
+    public String generateReport() {
+        return snapshot().generateReport();
+    }
+
+    /**
+     * Helper method: Finds the offset of a counter within a stripe.
+     *
+     * @param computerIndex The index of the computer's move.
+     * @param playerIndex The index of the player's move.
+     * @param outcome The outcome counted.
+     * @return The offset of the counter.
+     */
+    private int counterOf(int computerIndex, int playerIndex, int outcome) {
+        int kind = outcome > 0 ? COMPUTER_WIN : outcome < 0 ? PLAYER_WIN : DRAW;
+        return (computerIndex * size + playerIndex) * 3 + kind;
+    }
+
+    /**
+     * Helper method: Adds to a counter in the current thread's stripe.
+     * If another thread updates the counter at the same time, the current thread moves to another stripe.
+     *
+     * @param counter The offset of the counter.
+     * @param amount The amount to add.
+     */
+    private void add(int counter, long amount) {
+        if (amount == 0) {
+            return;
+        }
+        int[] probe = PROBE.get();
+        int index = PADDING + (probe[0] & stripeMask) * stride + counter;
+        long current = counts.get(index);
+        if (!counts.compareAndSet(index, current, current + amount)) {
+            int next = probe[0];
+            next ^= next << 13;
+            next ^= next >>> 17;
+            next ^= next << 5;
+            probe[0] = next;
+            counts.getAndAdd(index, amount);
+        }
+    }
+
+    /**
+     * Helper method: Sums a counter over every stripe.
+     *
+     * @param counter The offset of the counter.
+     * @return The total count.
+     */
+    private long sum(int counter) {
+        long total = 0;
+        for (int stripe = 0; stripe <= stripeMask; stripe++) {
+            total += counts.get(PADDING + stripe * stride + counter);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,248 @@
+package assignmentone;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Plays a whole game non-interactively from a file of player moves.
+ * The move file is memory-mapped and split into moves separated by whitespace or commas, and every move is
+ * looked up in a table precomputed from the game's moves. Every move in the file is played as one throw,
+ * a {@code q} ends the game early, and only the final report is printed, optionally with a compact
+ * CSV line per throw.
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 1.0
+ */
+public class ScriptRunner {
+
+    private static final long MAP_WINDOW = 1L << 30;
+    private static final int MAX_MOVE_LENGTH = 64;
+    private static final int QUIT = -2;
+    private static final int INVALID = -1;
+
+    private final GameDefinition game;
+    private final GameKeeper gameKeeper;
+    private final Thinker thinker;
+    private final Referee referee;
+    private final Reporter reporter;
+    private final int[] singleByteMoves = new int[256];
+    private final byte[] token = new byte[MAX_MOVE_LENGTH];
+    private Writer csv;
+    private int tokenLength;
+    private long throwsPlayed;
+    private long invalidMoves;
+    private boolean quit;
+
+    /**
+     * Constructs a ScriptRunner for the given game.
+     *
+     * @param game The definition of the game to play.
+     * @param thinker The Thinker that chooses the computer's moves.
+     */
+    public ScriptRunner(GameDefinition game, Thinker thinker) {
+        this.game = game;
+        this.gameKeeper = new GameKeeper(game);
+        this.thinker = thinker;
+        this.referee = new Referee();
+        this.reporter = new Reporter(game.getValidMoves());
+
+        Arrays.fill(singleByteMoves, INVALID);
+        List<String> validMoves = game.getValidMoves();
+        for (int i = 0; i < validMoves.size(); i++) {
+            String move = validMoves.get(i);
+            if (move.length() == 1 && move.charAt(0) < 128) {
+                singleByteMoves[move.charAt(0)] = i;
+            }
+        }
+        if (singleByteMoves['q'] == INVALID) {
+            singleByteMoves['q'] = QUIT;
+        }
+    }
+
+    /**
+     * The entry point for scripted games.
+     * Expects the game type, the move file and optionally a CSV file for the throws, a seed and the
+     * computer's strategy, e.g. {@code rpsfw moves.txt throws.csv 42 markov2}.
+     *
+     * @param args Command line arguments as described above.
+     * @throws IOException If the move file cannot be read or the CSV file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: ScriptRunner <gameType> <movesFile> [csvFile|-] [seed] [strategy]");
+            return;
+        }
+        GameDefinition game = GameRegistry.getDefault().get(args[0]);
+        if (game == null) {
+            System.out.println("ERROR: Unknown game type " + args[0]);
+            return;
+        }
+        Path csvFile = args.length > 2 && !args[2].equals("-") ? Paths.get(args[2]) : null;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        String strategyName = args.length > 4 ? args[4] : "weighted";
+
+        Thinker thinker = Simulator.newThinker(game, strategyName, Thinker.newRandom(seed));
+        ScriptRunner runner = new ScriptRunner(game, thinker);
+        if (csvFile != null) {
+            try (Writer csv = Files.newBufferedWriter(csvFile, StandardCharsets.UTF_8)) {
+                runner.setCsv(csv);
+                runner.play(Paths.get(args[1]));
+            }
+        } else {
+            runner.play(Paths.get(args[1]));
+        }
+
+        StringBuilder output = new StringBuilder();
+        if (runner.invalidMoves > 0) {
+            output.append("ERROR: Skipped ").append(runner.invalidMoves).append(" invalid moves\n");
+        }
+        output.append("\n### GAME REPORT ###\n\n");
+        output.append(runner.reporter.generateReport()).append("\n");
+        System.out.print(output);
+    }
+
+    /**
+     * Writes a CSV line for every throw to the given writer, starting with a header line.
+     *
+     * @param csv The writer of the CSV output.
+     * @throws IOException If the header cannot be written.
+     */
+    public void setCsv(Writer csv) throws IOException {
+        this.csv = csv instanceof BufferedWriter ? csv : new BufferedWriter(csv);
+        this.csv.write("throw,computer,player,outcome\n");
+    }
+
+    /**
+     * Plays every move of a move file.
+     *
+     * @param movesFile The file of player moves.
+     * @throws IOException If the file cannot be read or the CSV output cannot be written.
+     */
+    public void play(Path movesFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(movesFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size && !quit; position += MAP_WINDOW) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(MAP_WINDOW, size - position));
+                scan(buffer);
+            }
+            if (!quit) {
+                endToken();
+            }
+        }
+        if (csv != null) {
+            csv.flush();
+        }
+    }
+
+    /**
+     * Retrieves the Reporter holding the results of the moves played.
+     *
+     * @return The Reporter.
+     */
+    public Reporter getReporter() {
+        return reporter;
+    }
+
+    /**
+     * Retrieves the number of throws played, including draws.
+     *
+     * @return The number of throws.
+     */
+    public long getThrowsPlayed() {
+        return throwsPlayed;
+    }
+
+    /**
+     * Retrieves the number of moves in the file that were not valid moves of the game.
+     *
+     * @return The number of invalid moves.
+     */
+    public long getInvalidMoves() {
+        return invalidMoves;
+    }
+
+    /**
+     * Helper method: Splits a window of the move file into moves and plays them.
+     * A move cut in two by the end of the window is completed by the next window.
+     *
+     * @param buffer The mapped window of the file.
+     * @throws IOException If the CSV output cannot be written.
+     */
+    private void scan(MappedByteBuffer buffer) throws IOException {
+        int limit = buffer.limit();
+        for (int i = 0; i < limit && !quit; i++) {
+            byte b = buffer.get(i);
+            if (b == '\n' || b == '\r' || b == ' ' || b == '\t' || b == ',') {
+                endToken();
+            } else if (tokenLength < MAX_MOVE_LENGTH) {
+                token[tokenLength++] = b;
+            } else {
+                tokenLength = MAX_MOVE_LENGTH + 1;
+            }
+        }
+    }
+
+    /**
+     * Helper method: Plays the move collected so far, if there is one.
+     *
+     * @throws IOException If the CSV output cannot be written.
+     */
+    private void endToken() throws IOException {
+        if (tokenLength == 0) {
+            return;
+        }
+        int playerIndex;
+        if (tokenLength == 1) {
+            playerIndex = singleByteMoves[token[0] & 0xFF];
+        } else if (tokenLength > MAX_MOVE_LENGTH) {
+            playerIndex = INVALID;
+        } else {
+            String move = new String(token, 0, tokenLength, StandardCharsets.UTF_8);
+            playerIndex = move.equals("q") ? QUIT : game.indexOf(move);
+        }
+        tokenLength = 0;
+
+        if (playerIndex == QUIT) {
+            quit = true;
+        } else if (playerIndex == INVALID) {
+            invalidMoves++;
+        } else {
+            playRound(playerIndex);
+        }
+    }
+
+    /**
+     * Helper method: Plays one throw against the computer.
+     *
+     * @param playerIndex The index of the player's move.
+     * @throws IOException If the CSV output cannot be written.
+     */
+    private void playRound(int playerIndex) throws IOException {
+        int computerIndex = thinker.getComputerMoveIndex();
+        int outcome = referee.determineWinner(playerIndex, computerIndex, gameKeeper, reporter);
+        thinker.observe(computerIndex, playerIndex);
+        throwsPlayed++;
+
+        if (csv != null) {
+            csv.write(Long.toString(throwsPlayed));
+            csv.write(',');
+            csv.write(gameKeeper.getMove(computerIndex));
+            csv.write(',');
+            csv.write(gameKeeper.getMove(playerIndex));
+            csv.write(',');
+            csv.write(Integer.toString(outcome));
+            csv.write('\n');
+        }
+    }
+}
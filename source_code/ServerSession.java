@@ -0,0 +1,358 @@
+package assignmentone;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.random.RandomGenerator;
+
+/**
+ * The state of one game session played over a GameServer connection.
+ * Every session owns its own GameKeeper, Thinker, Referee and Reporter, just like a console session
+ * run by Runner, but instead of prompting it reacts to one line of the text protocol at a time.
+ *
+ * <p>Protocol, one command per line:</p>
+ * <pre>
+ * server: WELCOME &lt;gameType&gt;,&lt;gameType&gt;,...
+ * client: GAME &lt;gameType&gt;        server: MOVES &lt;move&gt;,&lt;move&gt;,...
+ * client: ROUNDS &lt;n&gt;             server: READY &lt;n&gt; [&lt;sessionId&gt;]
+ * client: MOVE &lt;move&gt;            server: RESULT &lt;computerMove&gt; &lt;outcome&gt; &lt;roundsPlayed&gt;/&lt;n&gt;
+ * client: QUIT                   server: REPORT &lt;lines&gt;, the report lines, then BYE
+ * client: RESUME &lt;sessionId&gt;     server: MOVES &lt;move&gt;,&lt;move&gt;,... then RESUMED &lt;roundsPlayed&gt;/&lt;n&gt;
+ * client: SCOREBOARD &lt;gameType&gt;  server: REPORT &lt;lines&gt;, then the report lines
+ * </pre>
+ * <p>The outcome is 1 for a computer win, -1 for a friend win and 0 for a draw. Draws do not count
+ * towards the rounds, and the report is also sent once the last round has been played.
+ * Every round is also counted on the shared Scoreboard of its game, whose live report of every session
+ * so far can be requested with SCOREBOARD at any time. Invalid commands are answered with {@code ERROR <message>}.</p>
+ *
+ * <p>When the server keeps a SessionStore, every session gets an id, sent with READY, and is snapshotted
+ * every {@link SessionSnapshot#INTERVAL} throws and when its connection is lost. A new connection can then
+ * continue the session with RESUME instead of GAME and ROUNDS, even after the server was restarted.
+ * The snapshot is read in the background, and the session waits for it before it handles the next line.
+ * A session can only be resumed while no other connection plays it.</p>
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 4.0
+ */
+class ServerSession {
+
+    private final GameRegistry registry;
+    private final String strategyName;
+    private final RandomGenerator random;
+    private final SessionStore store;
+    private String sessionId;
+    private String resumingId;
+    private CompletableFuture<SessionSnapshot> resuming;
+    private int throwsSinceSnapshot;
+    private GameDefinition game;
+    private GameKeeper gameKeeper;
+    private Thinker thinker;
+    private Referee referee;
+    private Reporter reporter;
+    private Scoreboard scoreboard;
+    private int numberOfRounds;
+    private int roundsPlayed;
+    private boolean finished;
+
+    /**
+     * Constructs a ServerSession.
+     *
+     * @param registry The registry holding every game that can be played.
+     * @param strategyName The name of the strategy the computer plays.
+     * @param random The random generator used for the computer's moves.
+     */
+    ServerSession(GameRegistry registry, String strategyName, RandomGenerator random) {
+        this(registry, strategyName, random, null);
+    }
+
+    /**
+     * Constructs a ServerSession that is snapshotted to the given store.
+     *
+     * @param registry The registry holding every game that can be played.
+     * @param strategyName The name of the strategy the computer plays.
+     * @param random The random generator used for the computer's moves.
+     * @param store The store the session is snapshotted to, or null to keep it in memory only.
+     */
+    ServerSession(GameRegistry registry, String strategyName, RandomGenerator random, SessionStore store) {
+        this.registry = registry;
+        this.strategyName = strategyName;
+        this.random = random;
+        this.store = store;
+    }
+
+    /**
+     * Builds the greeting sent when the connection is accepted.
+     *
+     * @return The greeting line.
+     */
+    String welcome() {
+        return "WELCOME " + String.join(",", registry.getGameTypes()) + "\n";
+    }
+
+    /**
+     * Handles one line sent by the client.
+     *
+     * @param line The line, without its line break.
+     * @return The reply, made of complete lines; empty while the session is waiting for a snapshot.
+     */
+    String handle(String line) {
+        int space = line.indexOf(' ');
+        String command = space < 0 ? line : line.substring(0, space);
+        String argument = space < 0 ? "" : line.substring(space + 1).trim();
+
+        switch (command) {
+            case "GAME":
+                return chooseGame(argument);
+            case "ROUNDS":
+                return chooseRounds(argument);
+            case "MOVE":
+                return playRound(argument);
+            case "QUIT":
+                return finish();
+            case "RESUME":
+                return resume(argument);
+            case "SCOREBOARD":
+                return showScoreboard(argument);
+            default:
+                return error("Unknown command " + command);
+        }
+    }
+
+    /**
+     * Checks whether the session is over and the connection can be closed.
+     *
+     * @return {@code true} once the report has been sent.
+     */
+    boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Retrieves the snapshot the session is waiting for after a RESUME command.
+     * Once it is done, {@link #completeResume()} has to be called before any further line is handled.
+     *
+     * @return The snapshot being restored, or null if the session is not waiting.
+     */
+    CompletableFuture<SessionSnapshot> getResuming() {
+        return resuming;
+    }
+
+    /**
+     * Continues the session from the snapshot it was waiting for.
+     *
+     * @return The reply to the RESUME command: the game's moves and the rounds played so far.
+     */
+    String completeResume() {
+        String id = resumingId;
+        SessionSnapshot snapshot;
+        try {
+            snapshot = resuming.join();
+        } catch (CompletionException e) {
+            store.release(id);
+            return error("Session " + id + " could not be restored.");
+        } finally {
+            resuming = null;
+            resumingId = null;
+        }
+        if (snapshot == null) {
+            store.release(id);
+            return error("Unknown session " + id);
+        }
+        game = snapshot.getGame();
+        gameKeeper = new GameKeeper(game);
+        thinker = snapshot.getThinker();
+        referee = new Referee();
+        reporter = snapshot.getReporter();
+        scoreboard = Scoreboard.of(game);
+        numberOfRounds = snapshot.getNumberOfRounds();
+        roundsPlayed = snapshot.getRoundsPlayed();
+        sessionId = id;
+        return "MOVES " + String.join(",", game.getValidMoves()) + "\n"
+                + "RESUMED " + roundsPlayed + "/" + numberOfRounds + "\n";
+    }
+
+    /**
+     * Snapshots the session when its connection is lost before the session is over,
+     * and frees its id so that it can be resumed.
+     */
+    void suspend() {
+        if (resumingId != null) {
+            store.release(resumingId);
+            resumingId = null;
+        }
+        if (store != null && sessionId != null) {
+            if (!finished) {
+                store.save(sessionId, SessionSnapshot.encode(game, thinker, reporter, numberOfRounds, roundsPlayed));
+            }
+            store.release(sessionId);
+        }
+    }
+
+    /**
+     * Helper method: Starts a session of the chosen game.
+     *
+     * @param gameType The chosen game type.
+     * @return The reply listing the game's moves.
+     */
+    private String chooseGame(String gameType) {
+        if (game != null) {
+            return error("The game is already chosen.");
+        }
+        GameDefinition chosen = registry.get(gameType);
+        if (chosen == null) {
+            return error("Invalid game type! Please choose a valid game type.");
+        }
+        game = chosen;
+        List<String> validMoves = game.getValidMoves();
+        gameKeeper = new GameKeeper(game);
+        thinker = new Thinker(validMoves, Strategy.create(strategyName, game), random);
+        referee = new Referee();
+        reporter = new Reporter(validMoves);
+        scoreboard = Scoreboard.of(game);
+        return "MOVES " + String.join(",", validMoves) + "\n";
+    }
+
+    /**
+     * Helper method: Sets the number of rounds to play.
+     *
+     * @param argument The number of rounds as sent by the client.
+     * @return The reply confirming the number of rounds.
+     */
+    private String chooseRounds(String argument) {
+        if (game == null) {
+            return error("Choose a game type first.");
+        }
+        if (numberOfRounds > 0) {
+            return error("The number of rounds is already chosen.");
+        }
+        try {
+            int rounds = Integer.parseInt(argument);
+            if (rounds <= 0) {
+                throw new NumberFormatException();
+            }
+            numberOfRounds = rounds;
+            if (store == null) {
+                return "READY " + rounds + "\n";
+            }
+            sessionId = store.newId();
+            return "READY " + rounds + " " + sessionId + "\n";
+        } catch (NumberFormatException e) {
+            return error("Invalid input! Please enter a valid number.");
+        }
+    }
+
+    /**
+     * Helper method: Plays one round against the client's move.
+     *
+     * @param move The client's move.
+     * @return The result of the round, followed by the report if it was the last round.
+     */
+    private String playRound(String move) {
+        if (numberOfRounds == 0) {
+            return error("Choose a game type and the number of rounds first.");
+        }
+        int playerIndex = gameKeeper.indexOf(move);
+        if (playerIndex == -1) {
+            return error("Invalid move! Please choose a valid move.");
+        }
+        int computerIndex = thinker.getComputerMoveIndex();
+        int outcome = referee.determineWinner(playerIndex, computerIndex, gameKeeper, reporter);
+        thinker.observe(computerIndex, playerIndex);
+        scoreboard.record(computerIndex, playerIndex, outcome);
+        if (outcome != Referee.DRAW) {
+            roundsPlayed++;
+        }
+        if (sessionId != null && ++throwsSinceSnapshot == SessionSnapshot.INTERVAL && roundsPlayed < numberOfRounds) {
+            throwsSinceSnapshot = 0;
+            store.save(sessionId, SessionSnapshot.encode(game, thinker, reporter, numberOfRounds, roundsPlayed));
+        }
+
+        String result = "RESULT " + gameKeeper.getMove(computerIndex) + " " + outcome + " "
+                + roundsPlayed + "/" + numberOfRounds + "\n";
+        if (roundsPlayed == numberOfRounds) {
+            return result + finish();
+        }
+        return result;
+    }
+
+    /**
+     * Helper method: Ends the session with the report of the rounds played so far.
+     *
+     * @return The report lines followed by the goodbye line.
+     */
+    private String finish() {
+        finished = true;
+        if (sessionId != null) {
+            store.delete(sessionId);
+            store.release(sessionId);
+        }
+        if (reporter == null) {
+            return "BYE\n";
+        }
+        return reportLines(reporter.generateReport()) + "BYE\n";
+    }
+
+    /**
+     * Helper method: Sends the live report of every session of a game.
+     *
+     * @param gameType The game type.
+     * @return The report lines.
+     */
+    private String showScoreboard(String gameType) {
+        GameDefinition chosen = registry.get(gameType);
+        if (chosen == null) {
+            return error("Invalid game type! Please choose a valid game type.");
+        }
+        return reportLines(Scoreboard.of(chosen).generateReport());
+    }
+
+    /**
+     * Helper method: Prefixes a report with the number of lines it has.
+     *
+     * @param report The report.
+     * @return The REPORT line followed by the report.
+     */
+    private String reportLines(String report) {
+        int lines = 0;
+        for (int i = 0; i < report.length(); i++) {
+            if (report.charAt(i) == '\n') {
+                lines++;
+            }
+        }
+        return "REPORT " + lines + "\n" + report;
+    }
+
+    /**
+     * Helper method: Starts restoring a snapshotted session in the background.
+     *
+     * @param id The id of the session.
+     * @return An empty reply, or an error if the session cannot be resumed.
+     */
+    private String resume(String id) {
+        if (store == null) {
+            return error("Sessions are not saved on this server.");
+        }
+        if (game != null) {
+            return error("The game is already chosen.");
+        }
+        if (!store.isId(id)) {
+            return error("Unknown session " + id);
+        }
+        if (!store.claim(id)) {
+            return error("Session " + id + " is already being played.");
+        }
+        resumingId = id;
+        resuming = store.load(id);
+        return "";
+    }
+
+    /**
+     * Helper method: Builds an error reply.
+     *
+     * @param message The error message.
+     * @return The error line.
+     */
+    private String error(String message) {
+        return "ERROR " + message + "\n";
+    }
+}
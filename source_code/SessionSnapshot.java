@@ -0,0 +1,264 @@
+package assignmentone;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * A snapshot of an in-progress game session, from which the session can continue after a restart.
+ * A snapshot holds the game type, the number of rounds and the rounds played, every cell of the results
+ * and draws, the computer's strategy with what it has learned, and the seed of its random generator.
+ *
+ * <p>Snapshots are copy-on-write: {@link #encode} copies the session's state into a byte array, which can
+ * be written to disk later, even from another thread, while the session keeps playing. A snapshot file is
+ * never written in place; it is written to a temporary file next to it and renamed over the old one, so a
+ * crash leaves either the old or the new snapshot, never a partial one.</p>
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 1.0
+ */
+public final class SessionSnapshot {
+
+    public static final int BINARY_MAGIC = 0x52505353; // "RPSS"
+    public static final int BINARY_VERSION = 1;
+
+    /**
+     * The file a console session is snapshotted to, set with {@code -Drps.snapshot=<file>}, or null for none.
+     */
+    public static final String FILE = System.getProperty("rps.snapshot");
+
+    /**
+     * The number of throws between snapshots, set with {@code -Drps.snapshot.interval=<throws>}.
+     */
+    public static final int INTERVAL = Math.max(1, Integer.getInteger("rps.snapshot.interval", 10));
+
+    private final GameDefinition game;
+    private final Thinker thinker;
+    private final Reporter reporter;
+    private final int numberOfRounds;
+    private final int roundsPlayed;
+
+    /**
+     * Helper constructor: Holds the state of a restored session.
+     *
+     * @param game The definition of the game.
+     * @param thinker The computer's Thinker.
+     * @param reporter The results so far.
+     * @param numberOfRounds The number of rounds to play.
+     * @param roundsPlayed The number of rounds played so far, not counting draws.
+     */
+    private SessionSnapshot(GameDefinition game, Thinker thinker, Reporter reporter, int numberOfRounds,
+            int roundsPlayed) {
+        this.game = game;
+        this.thinker = thinker;
+        this.reporter = reporter;
+        this.numberOfRounds = numberOfRounds;
+        this.roundsPlayed = roundsPlayed;
+    }
+
+    /**
+     * Copies the state of a session into a snapshot.
+     * The Thinker is reseeded, so that its random generator can be stored as a single seed.
+     *
+     * @param game The definition of the game.
+     * @param thinker The computer's Thinker.
+     * @param reporter The results so far.
+     * @param numberOfRounds The number of rounds to play.
+     * @param roundsPlayed The number of rounds played so far, not counting draws.
+     * @return The encoded snapshot.
+     */
+    public static byte[] encode(GameDefinition game, Thinker thinker, Reporter reporter, int numberOfRounds,
+            int roundsPlayed) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(BINARY_MAGIC);
+            out.writeByte(BINARY_VERSION);
+            out.writeUTF(game.getName());
+            out.writeInt(numberOfRounds);
+            out.writeInt(roundsPlayed);
+
+            ResultsTally tally = reporter.getTally();
+            for (int i = 0; i < tally.size(); i++) {
+                for (int j = 0; j < tally.size(); j++) {
+                    writeVarLong(out, tally.getComputerWins(i, j));
+                    writeVarLong(out, tally.getPlayerWins(i, j));
+                    writeVarLong(out, tally.getDraws(i, j));
+                }
+            }
+
+            Strategy strategy = thinker.getStrategy();
+            out.writeUTF(strategy.getName());
+            out.writeLong(thinker.reseed());
+            strategy.writeState(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Writes an encoded snapshot to a file, atomically replacing any older snapshot.
+     *
+     * @param snapshot The encoded snapshot.
+     * @param file The file to write to.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(byte[] snapshot, Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temporary, snapshot);
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Snapshots a session straight to a file.
+     *
+     * @param file The file to write to.
+     * @param game The definition of the game.
+     * @param thinker The computer's Thinker.
+     * @param reporter The results so far.
+     * @param numberOfRounds The number of rounds to play.
+     * @param roundsPlayed The number of rounds played so far, not counting draws.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void save(Path file, GameDefinition game, Thinker thinker, Reporter reporter, int numberOfRounds,
+            int roundsPlayed) throws IOException {
+        write(encode(game, thinker, reporter, numberOfRounds, roundsPlayed), file);
+    }
+
+    /**
+     * Reads a snapshot and restores the session it was taken from.
+     *
+     * @param file The file to read.
+     * @param registry The registry holding the game of the session.
+     * @return The restored session.
+     * @throws IOException If the file cannot be read, is not a snapshot or its game is unknown.
+     */
+    public static SessionSnapshot read(Path file, GameRegistry registry) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != BINARY_MAGIC || in.readUnsignedByte() != BINARY_VERSION) {
+                throw new IOException(file + " is not a session snapshot.");
+            }
+            String gameType = in.readUTF();
+            GameDefinition game = registry.get(gameType);
+            if (game == null) {
+                throw new IOException("Unknown game type " + gameType + " in " + file);
+            }
+            int numberOfRounds = in.readInt();
+            int roundsPlayed = in.readInt();
+            if (numberOfRounds <= 0 || roundsPlayed < 0 || roundsPlayed > numberOfRounds) {
+                throw new IOException(file + " holds an invalid number of rounds.");
+            }
+
+            Reporter reporter = new Reporter(game.getValidMoves());
+            for (int i = 0; i < game.size(); i++) {
+                for (int j = 0; j < game.size(); j++) {
+                    reporter.add(i, j, Referee.COMPUTER_WIN, readVarLong(in));
+                    reporter.add(i, j, Referee.PLAYER_WIN, readVarLong(in));
+                    reporter.add(i, j, Referee.DRAW, readVarLong(in));
+                }
+            }
+
+            Strategy strategy;
+            try {
+                strategy = Strategy.create(in.readUTF(), game);
+            } catch (IllegalArgumentException e) {
+                throw new IOException(e.getMessage() + " in " + file);
+            }
+            Thinker thinker = new Thinker(game.getValidMoves(), strategy, Thinker.newRandom(in.readLong()));
+            strategy.readState(in);
+            return new SessionSnapshot(game, thinker, reporter, numberOfRounds, roundsPlayed);
+        }
+    }
+
+    /**
+     * Retrieves the definition of the restored game.
+     *
+     * @return The game definition.
+     */
+    public GameDefinition getGame() {
+        return game;
+    }
+
+    /**
+     * Retrieves the restored Thinker, which continues with the moves the session would have played.
+     *
+     * @return The computer's Thinker.
+     */
+    public Thinker getThinker() {
+        return thinker;
+    }
+
+    /**
+     * Retrieves the restored results.
+     *
+     * @return The Reporter holding the results so far.
+     */
+    public Reporter getReporter() {
+        return reporter;
+    }
+
+    /**
+     * Retrieves the number of rounds the session plays.
+     *
+     * @return The number of rounds.
+     */
+    public int getNumberOfRounds() {
+        return numberOfRounds;
+    }
+
+    /**
+     * Retrieves the number of rounds played before the snapshot, not counting draws.
+     *
+     * @return The number of rounds played.
+     */
+    public int getRoundsPlayed() {
+        return roundsPlayed;
+    }
+
+    /**
+     * Helper method: Writes a non-negative number as an unsigned LEB128 variable-length integer.
+     *
+     * @param out The output to write to.
+     * @param value The number.
+     * @throws IOException If the output cannot be written.
+     */
+    private static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    /**
+     * Helper method: Reads an unsigned LEB128 variable-length integer.
+     *
+     * @param in The input to read from.
+     * @return The number.
+     * @throws IOException If the input cannot be read or the number is malformed.
+     */
+    private static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed number in session snapshot.");
+    }
+}
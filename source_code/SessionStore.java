@@ -0,0 +1,164 @@
+package assignmentone;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the snapshots of GameServer sessions in a directory, one file per session id.
+ * Snapshots are encoded on the server thread and written and read by a single background thread, so the server
+ * never waits for the disk, and the reads and writes of each session happen in the order they were requested.
+ * The store also tracks which ids are played by a connection, so that no session is played twice at once.
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 2.0
+ */
+class SessionStore implements AutoCloseable {
+
+    private static final Pattern SESSION_ID = Pattern.compile("[0-9a-f]{16}");
+    private static final String EXTENSION = ".rpss";
+
+    private final Path directory;
+    private final GameRegistry registry;
+    private final Set<String> idsInUse = new HashSet<>();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "session-store");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Constructs a SessionStore.
+     *
+     * @param directory The directory holding the snapshots; it is created if needed.
+     * @param registry The registry holding every game that can be restored.
+     * @throws IOException If the directory cannot be created.
+     */
+    SessionStore(Path directory, GameRegistry registry) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.registry = registry;
+    }
+
+    /**
+     * Creates an id for a new session and marks it as in use.
+     *
+     * @return A random id of 16 hexadecimal digits.
+     */
+    String newId() {
+        String id;
+        do {
+            id = String.format("%016x", ThreadLocalRandom.current().nextLong());
+        } while (!claim(id));
+        return id;
+    }
+
+    /**
+     * Marks a session id as in use by a connection; called on the server thread only.
+     *
+     * @param id The id of the session.
+     * @return {@code true} if the id was free, {@code false} if another connection plays it.
+     */
+    boolean claim(String id) {
+        return idsInUse.add(id);
+    }
+
+    /**
+     * Marks a session id as no longer in use, so that it can be resumed; called on the server thread only.
+     *
+     * @param id The id of the session.
+     */
+    void release(String id) {
+        idsInUse.remove(id);
+    }
+
+    /**
+     * Checks whether a string is a well-formed session id, so that it can safely name a file.
+     *
+     * @param id The string to check.
+     * @return {@code true} if it is a session id.
+     */
+    boolean isId(String id) {
+        return SESSION_ID.matcher(id).matches();
+    }
+
+    /**
+     * Writes a session's snapshot in the background.
+     *
+     * @param id The id of the session.
+     * @param snapshot The encoded snapshot.
+     */
+    void save(String id, byte[] snapshot) {
+        writer.execute(() -> {
+            try {
+                SessionSnapshot.write(snapshot, fileOf(id));
+            } catch (IOException e) {
+                System.err.println("ERROR: Session " + id + " could not be saved: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Removes a session's snapshot in the background, once its earlier writes are done.
+     *
+     * @param id The id of the session.
+     */
+    void delete(String id) {
+        writer.execute(() -> {
+            try {
+                Files.deleteIfExists(fileOf(id));
+            } catch (IOException e) {
+                System.err.println("ERROR: Session " + id + " could not be removed: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Restores a session from its snapshot in the background, once the pending writes are done.
+     *
+     * @param id The id of the session.
+     * @return The restored session, or null if there is no snapshot for the id; it fails with an
+     *         UncheckedIOException if the snapshot cannot be read.
+     */
+    CompletableFuture<SessionSnapshot> load(String id) {
+        Path file = fileOf(id);
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return Files.exists(file) ? SessionSnapshot.read(file, registry) : null;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, writer);
+    }
+
+    /**
+     * Finishes the pending writes.
+     */
+    @Override
+    public void close() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Helper method: Finds the snapshot file of a session.
+     *
+     * @param id The id of the session.
+     * @return The path of its snapshot.
+     */
+    private Path fileOf(String id) {
+        return directory.resolve(id + EXTENSION);
+    }
+}
@@ -0,0 +1,164 @@
+package assignmentone;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.random.RandomGenerator;
+
+/**
+ * Runs headless game sessions where two computer players face each other.
+ * The class reuses the GameKeeper, Referee and Reporter flow of a regular session, but draws
+ * both moves from Thinker instances and plays every round in a tight loop without any console I/O.
+ * The strategies of both sides can be chosen with the {@code rps.computer} and {@code rps.player}
+ * system properties, e.g. {@code -Drps.computer=markov2}; see {@link Strategy#create(String, GameDefinition)}.
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 4.0
+ */
+public class Simulator {
+
+    public static final String COMPUTER_STRATEGY = System.getProperty("rps.computer", "weighted");
+    public static final String PLAYER_STRATEGY = System.getProperty("rps.player", "random");
+
+    /**
+     * The number of draws in a row after which a match is stopped, set with {@code -Drps.maxDraws=<throws>}.
+     * Two deterministic strategies can lock into drawing forever, e.g. frequency against frequency.
+     */
+    public static final int MAX_CONSECUTIVE_DRAWS = Math.max(1, Integer.getInteger("rps.maxDraws", 10_000));
+
+    /**
+     * The entry point for headless simulations.
+     * Expects the game type, the number of rounds and optionally a seed and a round log file,
+     * e.g. {@code rpsfw 1000000 42 session.rpsl}.
+     *
+     * @param args Command line arguments: the game type, the number of rounds to play, the seed and the log file.
+     * @throws IOException If the round log cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: Simulator <gameType> <numberOfRounds> [seed] [logFile]");
+            return;
+        }
+
+        String gameType = args[0];
+        int numberOfRounds = Integer.parseInt(args[1]);
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        GameDefinition game = GameRegistry.getDefault().get(gameType);
+        if (game == null) {
+            System.out.println("ERROR: Unknown game type " + gameType);
+            return;
+        }
+
+        if (args.length > 3) {
+            try (RoundLog roundLog = new RoundLog(Paths.get(args[3]), game, 0)) {
+                simulateGame(game, numberOfRounds, seed, roundLog);
+            }
+        } else {
+            simulateGame(game, numberOfRounds, seed, null);
+        }
+    }
+
+    /**
+     * Plays a single headless game session and prints the throughput and the final report.
+     *
+     * @param game The definition of the game to simulate.
+     * @param numberOfRounds The number of decided rounds to play.
+     * @param seed The seed from which both players' random generators are derived.
+     * @param roundLog The log every round is appended to, or null to skip logging.
+     */
+    public static void simulateGame(GameDefinition game, int numberOfRounds, long seed, RoundLog roundLog) {
+        GameKeeper gameKeeper = new GameKeeper(game);
+
+        RandomGenerator.SplittableGenerator random = Thinker.newRandom(seed);
+        Thinker computer = newThinker(game, COMPUTER_STRATEGY, random.split());
+        Thinker player = newThinker(game, PLAYER_STRATEGY, random.split());
+        Referee referee = new Referee(roundLog);
+        Reporter reporter = new Reporter(game.getValidMoves());
+
+        long start = System.nanoTime();
+        boolean finished = playRounds(computer, player, referee, gameKeeper, reporter, numberOfRounds);
+        long elapsed = System.nanoTime() - start;
+        long throwsPlayed = reporter.getTotalRoundsPlayed() + reporter.getDraws();
+
+        System.out.println();
+        System.out.println("### SIMULATION of " + game.getName().toUpperCase() + " ###");
+        System.out.println();
+        System.out.println("Computer: " + computer.getStrategy().getName()
+                + ", Friend: " + player.getStrategy().getName());
+        System.out.println(formatThroughput(throwsPlayed, elapsed));
+        if (!finished) {
+            System.out.printf("ERROR: Stopped after %,d draws in a row, with %,d of %,d rounds decided.%n",
+                    MAX_CONSECUTIVE_DRAWS, reporter.getTotalRoundsPlayed(), numberOfRounds);
+        }
+        System.out.println();
+        System.out.println(reporter.generateReport());
+    }
+
+    /**
+     * Plays the given number of rounds between two computer players.
+     * Like an interactive session, draws are recorded but do not count towards the number of rounds.
+     * After every throw, both players observe the moves so adaptive strategies can learn from them.
+     * If {@link #MAX_CONSECUTIVE_DRAWS} draws happen in a row, the match is stopped early,
+     * and the Reporter holds the rounds decided until then.
+     *
+     * @param computer The Thinker playing the computer's side.
+     * @param player The Thinker playing the friend's side.
+     * @param referee The Referee instance for determining round outcomes.
+     * @param gameKeeper The GameKeeper instance which holds the game rules.
+     * @param reporter The Reporter instance that tallies the results.
+     * @param numberOfRounds The number of decided rounds to play.
+     * @return {@code true} if every round was decided, {@code false} if the match was stopped early.
+     */
+    public static boolean playRounds(Thinker computer, Thinker player, Referee referee, GameKeeper gameKeeper, Reporter reporter, int numberOfRounds) {
+        if (Metrics.ENABLED) {
+            Metrics.get().sessionStarted();
+        }
+        int drawsInARow = 0;
+        try {
+            for (int i = 0; i < numberOfRounds; i++) {
+                int computerIndex = computer.getComputerMoveIndex();
+                int playerIndex = player.getComputerMoveIndex();
+
+                int outcome = referee.determineWinner(playerIndex, computerIndex, gameKeeper, reporter);
+                computer.observe(computerIndex, playerIndex);
+                player.observe(playerIndex, computerIndex);
+                if (outcome != Referee.DRAW) {
+                    drawsInARow = 0;
+                } else if (++drawsInARow < MAX_CONSECUTIVE_DRAWS) {
+                    i--;
+                } else {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            if (Metrics.ENABLED) {
+                Metrics.get().sessionEnded();
+            }
+        }
+    }
+
+    /**
+     * Creates a Thinker that plays the named strategy.
+     *
+     * @param game The definition of the game to play.
+     * @param strategyName The name of the strategy, as accepted by {@link Strategy#create(String, GameDefinition)}.
+     * @param random The random generator used for every move decision.
+     * @return The new Thinker.
+     */
+    public static Thinker newThinker(GameDefinition game, String strategyName, RandomGenerator random) {
+        return new Thinker(game.getValidMoves(), Strategy.create(strategyName, game), random);
+    }
+
+    /**
+     * Helper method: Formats the throughput of a simulation run.
+     *
+     * @param throwsPlayed The number of throws made, including draws.
+     * @param elapsedNanos The wall-clock duration of the run in nanoseconds.
+     * @return A one-line summary of the run's duration and throughput.
+     */
+    public static String formatThroughput(long throwsPlayed, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        long perSecond = seconds > 0 ? (long) (throwsPlayed / seconds) : throwsPlayed;
+        return String.format("Throws: %d in %.3f s (%,d throws/sec)", throwsPlayed, seconds, perSecond);
+    }
+}
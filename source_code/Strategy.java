@@ -0,0 +1,91 @@
+package assignmentone;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.random.RandomGenerator;
+
+/**
+ * Decides which move a Thinker plays next, and learns from the moves played so far.
+ * Moves are identified by their index in the game's list of valid moves.
+ * Strategies that learn can save what they have learned and load it back, so that a session can be
+ * snapshotted and restored.
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 2.0
+ */
+public interface Strategy {
+
+    /**
+     * Chooses the next move.
+     *
+     * @param random The random generator to draw from.
+     * @return The index of the chosen move.
+     */
+    int nextMove(RandomGenerator random);
+
+    /**
+     * Learns from a finished round. Strategies that do not adapt can ignore it.
+     *
+     * @param ownMove The index of the move this strategy played.
+     * @param opponentMove The index of the move the opponent played.
+     */
+    default void observe(int ownMove, int opponentMove) {
+    }
+
+    /**
+     * Writes what the strategy has learned so far. Strategies that do not adapt write nothing.
+     *
+     * @param out The output to write to.
+     * @throws IOException If the output cannot be written.
+     */
+    default void writeState(DataOutput out) throws IOException {
+    }
+
+    /**
+     * Reads back what a strategy of the same name and game wrote with {@link #writeState(DataOutput)}.
+     * Strategies that do not adapt read nothing.
+     *
+     * @param in The input to read from.
+     * @throws IOException If the input cannot be read or does not match the strategy.
+     */
+    default void readState(DataInput in) throws IOException {
+    }
+
+    /**
+     * Retrieves the name under which the strategy can be created with {@link #create(String, GameDefinition)}.
+     *
+     * @return The name of the strategy.
+     */
+    String getName();
+
+    /**
+     * Creates a strategy by name for the given game.
+     * Known names are {@code random}, {@code weighted}, {@code equilibrium}, {@code frequency},
+     * {@code markov<k>} and {@code ngram<n>},
+     * e.g. {@code markov2} or {@code ngram3}.
+     *
+     * @param name The name of the strategy.
+     * @param game The definition of the game to play.
+     * @return A new strategy instance.
+     * @throws IllegalArgumentException If the name is not known.
+     */
+    static Strategy create(String name, GameDefinition game) {
+        if (name.equals("random")) {
+            return new RandomStrategy(game.size(), null);
+        } else if (name.equals("weighted")) {
+            MoveSampler sampler = game.getWeights() == null ? null
+                    : MoveSampler.forWeights(game.getValidMoves(), game.getWeights());
+            return new RandomStrategy(game.size(), sampler, name);
+        } else if (name.equals("equilibrium")) {
+            return new RandomStrategy(game.size(), new MoveSampler(GameAnalysis.of(game).getEquilibrium()), name);
+        } else if (name.equals("frequency")) {
+            return new FrequencyStrategy(GameAnalysis.of(game));
+        } else if (name.startsWith("markov")) {
+            return new MarkovStrategy(GameAnalysis.of(game), Integer.parseInt(name.substring("markov".length())));
+        } else if (name.startsWith("ngram")) {
+            return new NGramStrategy(GameAnalysis.of(game), Integer.parseInt(name.substring("ngram".length())));
+        }
+        throw new IllegalArgumentException("Unknown strategy " + name);
+    }
+}
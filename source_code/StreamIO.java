@@ -0,0 +1,77 @@
+package assignmentone;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads input from any InputStream and writes output to any OutputStream, e.g. a socket or a file.
+ * Output is collected in a buffer and only written to the stream when it is flushed.
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 1.0
+ */
+public class StreamIO implements GameIO {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final BufferedReader reader;
+    private final Writer writer;
+
+    /**
+     * Constructs a StreamIO that reads and writes UTF-8 text.
+     *
+     * @param in The stream input is read from.
+     * @param out The stream output is written to.
+     */
+    public StreamIO(InputStream in, OutputStream out) {
+        this(in, out, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Constructs a StreamIO that reads and writes text in the given charset.
+     *
+     * @param in The stream input is read from.
+     * @param out The stream output is written to.
+     * @param charset The charset of the text.
+     */
+    public StreamIO(InputStream in, OutputStream out, Charset charset) {
+        this.reader = new BufferedReader(new InputStreamReader(in, charset), BUFFER_SIZE);
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, charset), BUFFER_SIZE);
+    }
+
+    @Override
+    public String readLine() {
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void print(String text) {
+        try {
+            writer.write(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,79 +1,95 @@
 package assignmentone;
 
 import java.util.List;
-import java.util.Map;
-import java.util.Scanner;
+import java.util.NoSuchElementException;
 
 /**
  * Manages all user interactions, including displaying messages and capturing inputs.
  * Ensures user-friendly interfaces and prompt handling.
+ * All input and output goes through a GameIO, so the same flow works on the console, over a stream
+ * or with scripted input. Output is flushed once before every prompt is read, not after every line.
  * 
  * @author Nikola Desnica (UNI: ndd2131)
- * @version 9.0
+ * @version 12.0
  */
 public class Talker {
 
-    private Scanner scanner = new Scanner(System.in);
-    private Map<String, String> moveLabels = Map.of(
-            "r", "( r ) - Rock",
-            "p", "( p ) - Paper",
-            "s", "( s ) - Scissors",
-            "k", "( k ) - Spock",
-            "l", "( l ) - Lizard",
-            "f", "( f ) - Fire",
-            "w", "( w ) - Water",
-            "m", "( m ) - Monkey"
-    );
+    private GameIO io;
+
+    /**
+     * Constructs a Talker that interacts with the player on the console.
+     */
+    public Talker() {
+        this(new ConsoleIO());
+    }
+
+    /**
+     * Constructs a Talker that interacts with the player through the given input and output.
+     *
+     * @param io The input and output to use.
+     */
+    public Talker(GameIO io) {
+        this.io = io;
+    }
+
+    /**
+     * Retrieves the input and output this Talker uses.
+     *
+     * @return The input and output.
+     */
+    public GameIO getIO() {
+        return io;
+    }
 
     /**
      * Displays a welcome message with a design suited for retro gaming.
      */
     public void displayWelcomeMessage() {
-        System.out.println();
-        System.out.println("============================================");
-        System.out.println("~                                          ~");
-        System.out.println("~         WELCOME TO THE RPS GAME!         ~");
-        System.out.println("~                                          ~");
-        System.out.println("============================================");
+        io.println();
+        io.println("============================================");
+        io.println("~                                          ~");
+        io.println("~         WELCOME TO THE RPS GAME!         ~");
+        io.println("~                                          ~");
+        io.println("============================================");
     }
 
     /**
      * Displays the rules of the selected game type.
      * 
      * @param gameType The type of game the player has chosen.
-     * @param rulesMatrix The matrix detailing the game's rules.
+     * @param rules The game's rules.
      * @param validMoves A list of valid moves for the game.
      */
-    public void displayRules(String gameType, int[][] rulesMatrix, List<String> validMoves) {
-        System.out.println();
-        System.out.println("### RULES for " + gameType.toUpperCase() + " ###");
-        System.out.println();
-        System.out.println("# 1 = computer win # -1 = player win, # 0 = draw");
-        System.out.println();
-        Formatter formatter = new Formatter(validMoves, rulesMatrix);
+    public void displayRules(String gameType, RulesMatrix rules, List<String> validMoves) {
+        io.println();
+        io.println("### RULES for " + gameType.toUpperCase() + " ###");
+        io.println();
+        io.println("# 1 = computer win # -1 = player win, # 0 = draw");
+        io.println();
+        Formatter formatter = new Formatter(validMoves, rules);
         String rulesDisplay = formatter.displayMatrix();
-        System.out.println(rulesDisplay);
+        io.println(rulesDisplay);
         }
 
     /**
      * Prompts the user to choose the game type they wish to play.
      * 
+     * @param registry The registry holding every game that can be played.
      * @return The selected game type.
      */
-    public String promptForGameType() {
-        List<String> validGameTypes = List.of("rps", "rpskl", "rpsfw", "rpmfw");
+    public String promptForGameType(GameRegistry registry) {
+        List<String> validGameTypes = registry.getGameTypes();
         String choice;
-        System.out.println();
+        io.println();
         do {
-            System.out.println("Choose a game type:");
-            System.out.println("( rps ) - Rock Paper Scissors");
-            System.out.println("( rpskl ) - Rock Paper Scissors Lizard Spock");
-            System.out.println("( rpsfw ) - Rock Paper Scissors Fire Water");
-            System.out.println("( rpmfw ) - Rock Paper Monkey Fire Water");
-            System.out.println();
-
-            System.out.print("Enter your choice: ");
-            choice = scanner.nextLine();
+            io.println("Choose a game type:");
+            for (String gameType : validGameTypes) {
+                io.println("( " + gameType + " ) - " + registry.get(gameType).getTitle());
+            }
+            io.println();
+
+            io.print("Enter your choice: ");
+            choice = readLine();
             if (!validGameTypes.contains(choice)) {
                 displayErrorMessage("Invalid game type! Please choose a valid game type.");
             }
@@ -87,17 +103,17 @@ public class Talker {
      * @return The selected number of rounds
      */
     public int getNumberOfRounds() {
-        System.out.print("Enter the number of rounds you want to play: ");
+        io.print("Enter the number of rounds you want to play: ");
         int rounds;
         while (true) {
             try {
-                rounds = Integer.parseInt(scanner.nextLine());
+                rounds = Integer.parseInt(readLine());
                 if (rounds <= 0) {
                     throw new NumberFormatException();
                 }
                 break;
             } catch (NumberFormatException e) {
-                System.out.print("Invalid input! Please enter a valid number: ");
+                io.print("Invalid input! Please enter a valid number: ");
             }
         }
         return rounds;
@@ -106,25 +122,27 @@ public class Talker {
     /**
      * Prompts the player to select their move based on the game type.
      * 
+     * @param game The definition of the game being played.
      * @return The move selected by the player.
      */
-    public String getPlayerMove(List<String> validMoves) {
-        System.out.println();
+    public String getPlayerMove(GameDefinition game) {
+        List<String> validMoves = game.getValidMoves();
+        io.println();
         String move;
         do {
-            System.out.println("Choose your move:");
-            for (String mv : validMoves) {
-                System.out.println(moveLabels.get(mv));
+            io.println("Choose your move:");
+            for (int i = 0; i < validMoves.size(); i++) {
+                io.println("( " + validMoves.get(i) + " ) - " + game.getMoveName(i));
             }
-            System.out.println("( q ) - Quit Early...");
-            System.out.println();
+            io.println("( q ) - Quit Early...");
+            io.println();
 
-            System.out.print("Enter your move: ");
-            move = scanner.nextLine();
-            if (!validMoves.contains(move) && !move.equals("q")) {
+            io.print("Enter your move: ");
+            move = readLine();
+            if (game.indexOf(move) == -1 && !move.equals("q")) {
                 displayErrorMessage("Invalid move! Please choose a valid move.");
             }
-        } while (!validMoves.contains(move) && !move.equals("q"));
+        } while (game.indexOf(move) == -1 && !move.equals("q"));
         return move;
     }
 
@@ -134,10 +152,22 @@ public class Talker {
      * @param message The result of the round.
      */
     public void displayRoundOutcome(String message) {
-        System.out.println();
-        System.out.println("### ROUND RESULT ###");
-        System.out.println();
-        System.out.println(message);
+        io.println();
+        io.println("### ROUND RESULT ###");
+        io.println();
+        io.println(message);
+    }
+
+    /**
+     * Displays that a snapshotted session is continued where it left off.
+     *
+     * @param gameType The type of game of the session.
+     * @param roundsPlayed The number of rounds played before the snapshot.
+     * @param numberOfRounds The number of rounds of the session.
+     */
+    public void displayResumeMessage(String gameType, int roundsPlayed, int numberOfRounds) {
+        io.println();
+        io.println("Resuming your " + gameType + " game after round " + roundsPlayed + " of " + numberOfRounds + ".");
     }
 
     /**
@@ -146,7 +176,7 @@ public class Talker {
      * @param error The error message to be displayed.
      */
     public void displayErrorMessage(String error) {
-        System.out.println("ERROR: " + error);
+        io.println("ERROR: " + error);
     }
 
     /**
@@ -155,10 +185,10 @@ public class Talker {
      * @param report The game report.
      */
     public void displayReport(String report) {
-        System.out.println();
-        System.out.println("### GAME REPORT ###");
-        System.out.println();
-        System.out.println(report);
+        io.println();
+        io.println("### GAME REPORT ###");
+        io.println();
+        io.println(report);
     }
 
     /**
@@ -169,12 +199,37 @@ public class Talker {
     public boolean playAnotherGame() {
         String choice;
         do {
-            System.out.print("Play another game? (y/n): ");
-            choice = scanner.nextLine();
+            io.print("Play another game? (y/n): ");
+            choice = readLine();
             if (!List.of("y", "n").contains(choice.toLowerCase())) {
                 displayErrorMessage("Invalid input! Please enter 'y' or 'n'.");
             }
         } while (!List.of("y", "n").contains(choice.toLowerCase()));
         return choice.equalsIgnoreCase("y");
     }
+
+    /**
+     * Displays the goodbye message and sends any remaining output.
+     */
+    public void displayGoodbyeMessage() {
+        io.println();
+        io.println("Thank you for playing!");
+        io.println();
+        io.flush();
+    }
+
+    /**
+     * Helper method: Flushes the pending output, so the player sees the prompt, and reads their answer.
+     *
+     * @return The line entered by the player.
+     * @throws NoSuchElementException If there is no more input.
+     */
+    private String readLine() {
+        io.flush();
+        String line = io.readLine();
+        if (line == null) {
+            throw new NoSuchElementException("No line found");
+        }
+        return line;
+    }
 }
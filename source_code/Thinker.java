@@ -1,50 +1,134 @@
 package assignmentone;
 
-import java.util.Map;
-import java.util.Random;
 import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
 
 /**
  * Represents the computer's decision-making logic, determining its move based on the game's strategy.
  * It uses a set of move weights, if provided, to make a decision. Otherwise, it randomly selects a move.
+ * The weights are compiled once into a MoveSampler, and the random generator can be supplied
+ * with an explicit seed so that simulations can be reproduced exactly.
+ * The actual choice is delegated to a Strategy, which can also learn from the rounds played,
+ * e.g. to predict and counter the opponent's moves. With metrics enabled, the latency of every decision is recorded.
+ * For session snapshots, the random generator can be reseeded so that its whole state is a single seed.
  * 
  * @author Nikola Desnica (UNI: ndd2131)
- * @version 3.0
+ * @version 8.0
  */
 public class Thinker {
 
-    private Map<String, Integer> moveWeights;
-    private Random random = new Random();
+    public static final String RANDOM_ALGORITHM = "L64X128MixRandom";
+
+    private List<String> validMoves;
+    private Strategy strategy;
+    private RandomGenerator random;
+    private LatencyHistogram decisionLatency;
 
     /**
-     * Constructs a Thinker instance with the provided move weights.
+     * Constructs a Thinker instance with the provided valid moves and move weights.
+     * The Thinker only relies on the moves it is given, so each session can own its own instance.
      * 
+     * @param validMoves The list containing valid moves for the game.
      * @param weights The map of move names to their respective weights.
      */
-    public Thinker(Map<String, Integer> weights) {
-        this.moveWeights = weights;
+    public Thinker(List<String> validMoves, Map<String, Integer> weights) {
+        this(validMoves, weights, RandomGeneratorFactory.of(RANDOM_ALGORITHM).create());
+    }
+
+    /**
+     * Constructs a Thinker instance that draws its moves from the given random generator.
+     *
+     * @param validMoves The list containing valid moves for the game.
+     * @param weights The map of move names to their respective weights.
+     * @param random The random generator used for every move decision.
+     */
+    public Thinker(List<String> validMoves, Map<String, Integer> weights, RandomGenerator random) {
+        this(validMoves, new RandomStrategy(validMoves.size(),
+                weights != null && !weights.isEmpty() ? MoveSampler.forWeights(validMoves, weights) : null), random);
+    }
+
+    /**
+     * Constructs a Thinker instance that plays the given strategy.
+     *
+     * @param validMoves The list containing valid moves for the game.
+     * @param strategy The strategy that chooses every move.
+     * @param random The random generator used for every move decision.
+     */
+    public Thinker(List<String> validMoves, Strategy strategy, RandomGenerator random) {
+        this.validMoves = validMoves;
+        this.strategy = strategy;
+        this.random = random;
+        if (Metrics.ENABLED) {
+            this.decisionLatency = Metrics.get().decisionLatency(strategy.getName());
+        }
+    }
+
+    /**
+     * Creates a splittable random generator from an explicit seed.
+     *
+     * @param seed The seed of the generator.
+     * @return A new random generator that can be split for other workers.
+     */
+    public static RandomGenerator.SplittableGenerator newRandom(long seed) {
+        return (RandomGenerator.SplittableGenerator) RandomGeneratorFactory.of(RANDOM_ALGORITHM).create(seed);
     }
 
     /**
-     * Determines the computer's move. If move weights are defined, the move is selected based on them.
-     * Otherwise, a random move is selected.
+     * Determines the computer's move as chosen by the strategy. By default, if move weights are defined,
+     * the move is selected based on them. Otherwise, a random move is selected.
      * 
      * @return The move chosen by the computer.
      */
     public String getComputerMove() {
-        if (moveWeights == null || moveWeights.isEmpty()) {
-            List<String> moves = GameConfig.getValidMovesForGame(GameConfig.getCurrentGameType());
-            return moves.get(random.nextInt(moves.size()));
-        } else {
-            int totalWeight = moveWeights.values().stream().mapToInt(Integer::intValue).sum();
-            int randomValue = random.nextInt(totalWeight);
-            for (Map.Entry<String, Integer> entry : moveWeights.entrySet()) {
-                randomValue -= entry.getValue();
-                if (randomValue < 0) {
-                    return entry.getKey();
-                }
-            }
-            return null; // This should not happen if weights are properly defined
+        return validMoves.get(getComputerMoveIndex());
+    }
+
+    /**
+     * Determines the computer's move as an index into the game's list of valid moves.
+     *
+     * @return The index of the move chosen by the computer.
+     */
+    public int getComputerMoveIndex() {
+        if (!Metrics.ENABLED) {
+            return strategy.nextMove(random);
         }
+        long start = System.nanoTime();
+        int move = strategy.nextMove(random);
+        decisionLatency.record(System.nanoTime() - start);
+        return move;
+    }
+
+    /**
+     * Replaces the random generator with a new one seeded from it.
+     * The moves that follow depend only on the returned seed, so it is all a snapshot needs to store
+     * to continue the same sequence of moves after a restore.
+     *
+     * @return The seed of the new random generator.
+     */
+    public long reseed() {
+        long seed = random.nextLong();
+        random = newRandom(seed);
+        return seed;
+    }
+
+    /**
+     * Lets the strategy learn from a finished round.
+     *
+     * @param ownMove The index of the move this Thinker played.
+     * @param opponentMove The index of the move the opponent played.
+     */
+    public void observe(int ownMove, int opponentMove) {
+        strategy.observe(ownMove, opponentMove);
+    }
+
+    /**
+     * Retrieves the strategy this Thinker plays.
+     *
+     * @return The strategy.
+     */
+    public Strategy getStrategy() {
+        return strategy;
     }
 }
@@ -0,0 +1,121 @@
+package assignmentone;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.random.RandomGenerator;
+
+/**
+ * Runs a headless game session across all available cores.
+ * The rounds are split into a fixed number of batches that run on a fork-join pool. Every batch owns
+ * its own GameKeeper, Thinkers, Referee and Reporter, so no state is shared while the rounds are played.
+ * The partial Reporters are merged into a single report once all batches are done.
+ *
+ * @author Nikola Desnica (UNI: ndd2131)
+ * @version 1.0
+ */
+public class Tournament {
+
+    private static final int BATCHES = 256;
+
+    /**
+     * The entry point for parallel tournaments.
+     * Expects the game type, the number of rounds and optionally the number of worker threads and a seed,
+     * e.g. {@code rpsfw 100000000 8 42}.
+     *
+     * @param args Command line arguments: the game type, the number of rounds, the parallelism and the seed.
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: Tournament <gameType> <numberOfRounds> [workers] [seed]");
+            return;
+        }
+
+        String gameType = args[0];
+        long numberOfRounds = Long.parseLong(args[1]);
+        int workers = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        GameDefinition game = GameRegistry.getDefault().get(gameType);
+        if (game == null) {
+            System.out.println("ERROR: Unknown game type " + gameType);
+            return;
+        }
+
+        long start = System.nanoTime();
+        Reporter reporter = playTournament(game, numberOfRounds, workers, seed);
+        long elapsed = System.nanoTime() - start;
+
+        System.out.println();
+        System.out.println("### TOURNAMENT of " + gameType.toUpperCase() + " on " + workers + " workers ###");
+        System.out.println();
+        System.out.println(Simulator.formatThroughput(reporter.getTotalRoundsPlayed() + reporter.getDraws(), elapsed));
+        if (reporter.getTotalRoundsPlayed() < numberOfRounds) {
+            System.out.printf("ERROR: Batches stopped after %,d draws in a row, with %,d of %,d rounds decided.%n",
+                    Simulator.MAX_CONSECUTIVE_DRAWS, reporter.getTotalRoundsPlayed(), numberOfRounds);
+        }
+        System.out.println();
+        System.out.println(reporter.generateReport());
+    }
+
+    /**
+     * Plays the given number of rounds spread across a fork-join pool and merges the results.
+     * Every batch gets its own generator split from the seed, and the batches do not depend on
+     * the number of workers, so the same seed always produces the same results.
+     *
+     * @param game The definition of the game to play.
+     * @param numberOfRounds The total number of decided rounds to play.
+     * @param workers The number of worker threads to use.
+     * @param seed The seed from which every batch's random generators are split.
+     * @return A Reporter holding the merged results of every batch; it holds fewer decided rounds than asked for
+     *         if a batch was stopped early, see {@link Simulator#playRounds}.
+     */
+    public static Reporter playTournament(GameDefinition game, long numberOfRounds, int workers, long seed) {
+        Reporter total = new Reporter(game.getValidMoves());
+
+        int batches = (int) Math.max(1, Math.min(numberOfRounds, BATCHES));
+        RandomGenerator.SplittableGenerator root = Thinker.newRandom(seed);
+        List<Callable<Reporter>> tasks = new ArrayList<>();
+        for (int b = 0; b < batches; b++) {
+            int rounds = (int) (numberOfRounds / batches + (b < numberOfRounds % batches ? 1 : 0));
+            RandomGenerator.SplittableGenerator random = root.split();
+            tasks.add(() -> playBatch(game, rounds, random));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(workers);
+        try {
+            for (Future<Reporter> partial : pool.invokeAll(tasks)) {
+                total.merge(partial.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Tournament was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Tournament batch failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        return total;
+    }
+
+    /**
+     * Helper method: Plays one batch of rounds with its own game objects.
+     *
+     * @param game The definition of the game to play.
+     * @param numberOfRounds The number of decided rounds in this batch.
+     * @param random The generator from which the batch's Thinkers are split.
+     * @return The Reporter holding this batch's results.
+     */
+    private static Reporter playBatch(GameDefinition game, int numberOfRounds, RandomGenerator.SplittableGenerator random) {
+        GameKeeper gameKeeper = new GameKeeper(game);
+        Thinker computer = Simulator.newThinker(game, Simulator.COMPUTER_STRATEGY, random.split());
+        Thinker player = Simulator.newThinker(game, Simulator.PLAYER_STRATEGY, random.split());
+        Referee referee = new Referee();
+        Reporter reporter = new Reporter(game.getValidMoves());
+
+        Simulator.playRounds(computer, player, referee, gameKeeper, reporter, numberOfRounds);
+        return reporter;
+    }
+}